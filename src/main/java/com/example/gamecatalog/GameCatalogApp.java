@@ -1,6 +1,8 @@
 package com.example.gamecatalog;
 
 import com.example.gamecatalog.controller.GameCatalogController;
+import com.example.gamecatalog.repository.GameRepository;
+import com.example.gamecatalog.util.HelpManager;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -36,6 +38,9 @@ public class GameCatalogApp extends Application {
         primaryStage.setMinWidth(1140);
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        // Get the help window ready while the catalog loads
+        HelpManager.prewarm();
     }
     
     /**
@@ -49,9 +54,9 @@ public class GameCatalogApp extends Application {
                 Files.createDirectories(dataDir);
             }
             
-            // Ensure JSON file exists
+            // Ensure JSON file exists, unless the catalog is stored in another format
             Path jsonFile = Paths.get("data/games_all.json");
-            if (!Files.exists(jsonFile)) {
+            if (GameRepository.findCatalogFile() == null) {
                 // Create empty JSON array if file doesn't exist
                 Files.write(jsonFile, "[]".getBytes());
             }
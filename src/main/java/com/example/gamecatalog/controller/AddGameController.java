@@ -1,15 +1,23 @@
 package com.example.gamecatalog.controller;
 
 import com.example.gamecatalog.model.Game;
+import com.example.gamecatalog.repository.FavoritesRepository;
 import com.example.gamecatalog.repository.GameRepository;
 
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
+import javafx.scene.control.ButtonType;
 import javafx.scene.control.TextField;
 import javafx.stage.FileChooser;
+import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.StageStyle;
 
 import java.io.File;
 import java.io.IOException;
@@ -25,8 +33,13 @@ import java.util.stream.Collectors;
 
 /**
  * Controller for the Add Game form.
+ * The form is loaded once and its window is reused for every add and update, see
+ * {@link #showAddForm()} and {@link #showUpdateForm(Game)}.
  */
 public class AddGameController {
+    // The loaded form, reused while the application runs (FX thread only)
+    private static AddGameController sharedForm;
+
     @FXML private TextField titleField;
     @FXML private TextField developerField;
     @FXML private TextField publisherField;
@@ -48,13 +61,78 @@ public class AddGameController {
     private File selectedImageFile;
     private Stage stage;
     private boolean isUpdateMode = false;
-    private int gameIndex = -1;
+    private Game originalGame;
+    // Duplicate check of the game being saved, running in the background
+    private Task<List<Game>> duplicateCheck;
 
     /**
      * Initializes the controller.
      */
     public void initialize() {
-        gameRepository = new GameRepository();
+        gameRepository = GameRepository.getInstance();
+    }
+
+    /**
+     * Opens the form to add a new game and waits until it is closed.
+     *
+     * @throws IOException if the form cannot be loaded
+     */
+    public static void showAddForm() throws IOException {
+        AddGameController form = getSharedForm();
+        form.reset();
+        form.stage.showAndWait();
+    }
+
+    /**
+     * Opens the form to update a game and waits until it is closed.
+     *
+     * @param game the game to update, as held by the repository
+     * @throws IOException if the form cannot be loaded
+     */
+    public static void showUpdateForm(Game game) throws IOException {
+        AddGameController form = getSharedForm();
+        form.reset();
+        form.setForUpdate(game);
+        form.stage.showAndWait();
+    }
+
+    /**
+     * Returns the form, loading it and creating its window on first use.
+     *
+     * @return the controller of the form
+     * @throws IOException if the form cannot be loaded
+     */
+    private static AddGameController getSharedForm() throws IOException {
+        if (sharedForm == null) {
+            FXMLLoader loader = new FXMLLoader(AddGameController.class.getResource("/fxml/add-game-form.fxml"));
+            Parent root = loader.load();
+
+            Stage formStage = new Stage();
+            formStage.initModality(Modality.APPLICATION_MODAL);
+            formStage.initStyle(StageStyle.UNDECORATED);
+            formStage.setScene(new Scene(root));
+
+            AddGameController controller = loader.getController();
+            controller.setStage(formStage);
+            sharedForm = controller;
+        }
+        return sharedForm;
+    }
+
+    /**
+     * Clears the fields and state left over from the previous use of the form.
+     */
+    private void reset() {
+        for (TextField field : Arrays.asList(titleField, developerField, publisherField, genresField,
+                platformsField, translatorsField, steamIdField, releaseYearField, languageField,
+                ratingField, tagsField, coverImageField, descriptionField)) {
+            field.clear();
+        }
+        selectedImageFile = null;
+        isUpdateMode = false;
+        originalGame = null;
+        cancelDuplicateCheck();
+        saveButton.setText("Save");
     }
 
     /**
@@ -69,12 +147,12 @@ public class AddGameController {
     /**
      * Sets up the form for updating an existing game.
      *
-     * @param game the game to update
-     * @param index the index of the game in the repository
+     * @param game the game to update; it is replaced by identity, so edits made
+     *             elsewhere in the meantime do not shift it
      */
-    public void setForUpdate(Game game, int index) {
+    public void setForUpdate(Game game) {
         isUpdateMode = true;
-        gameIndex = index;
+        originalGame = game;
         
         // Populate fields with game data
         titleField.setText(game.getTitle());
@@ -142,7 +220,9 @@ public class AddGameController {
     }
 
     /**
-     * Handles the Save button click.
+     * Handles the Save button click. The game is checked against the catalog for likely
+     * duplicates on a background thread, since that may have to build the duplicate
+     * index, and saved once the check is done.
      */
     @FXML
     private void handleSave() {
@@ -150,6 +230,43 @@ public class AddGameController {
             return;
         }
 
+        Game candidate = createGameFromFields();
+        Task<List<Game>> check = new Task<>() {
+            @Override
+            protected List<Game> call() {
+                return gameRepository.findPossibleDuplicates(candidate);
+            }
+        };
+        check.setOnSucceeded(e -> {
+            if (duplicateCheck == check) {
+                duplicateCheck = null;
+                saveButton.setDisable(false);
+                if (confirmNotDuplicate(check.getValue())) {
+                    saveGame();
+                }
+            }
+        });
+        check.setOnFailed(e -> {
+            if (duplicateCheck == check) {
+                // The check only advises; a failure does not keep the game from being saved
+                check.getException().printStackTrace();
+                duplicateCheck = null;
+                saveButton.setDisable(false);
+                saveGame();
+            }
+        });
+
+        duplicateCheck = check;
+        saveButton.setDisable(true);
+        Thread checkThread = new Thread(check, "duplicate-check");
+        checkThread.setDaemon(true);
+        checkThread.start();
+    }
+
+    /**
+     * Adds or updates the game described by the form and saves the catalog.
+     */
+    private void saveGame() {
         try {
             Game game = createGameFromFields();
             String coverImagePath = processCoverImage();
@@ -161,19 +278,31 @@ public class AddGameController {
                 game.setCoverImagePath(coverImageField.getText().trim());
             }
 
-            if (isUpdateMode && gameIndex >= 0) {
-                // Update existing game
-                gameRepository.updateGame(gameIndex, game);
-                showAlert(AlertType.INFORMATION, "Success", "Game Updated", 
-                        "The game has been updated successfully.");
+            if (isUpdateMode) {
+                // Update existing game; it may have been removed while the form was open
+                if (!gameRepository.updateGame(originalGame, game)) {
+                    showAlert(AlertType.ERROR, "Error", "Failed to update Game",
+                            "The game is no longer in the catalog, so it could not be updated.");
+                    return;
+                }
+                // Favorites are stored by title, developer and publisher, which may have been edited
+                FavoritesRepository.getInstance().updateFavorite(originalGame, game);
             } else {
                 // Add new game
                 gameRepository.addGame(game);
+            }
+
+            if (!gameRepository.saveGames()) {
+                showAlert(AlertType.ERROR, "Error", "Failed to save Catalog",
+                        "The game was " + (isUpdateMode ? "updated" : "added")
+                                + " but the catalog file could not be written.");
+            } else if (isUpdateMode) {
+                showAlert(AlertType.INFORMATION, "Success", "Game Updated", 
+                        "The game has been updated successfully.");
+            } else {
                 showAlert(AlertType.INFORMATION, "Success", "Game Added", 
                         "The game has been added successfully.");
             }
-            
-            gameRepository.saveGames();
             closeWindow();
         } catch (Exception e) {
             String action = isUpdateMode ? "updating" : "saving";
@@ -238,6 +367,30 @@ public class AddGameController {
         return true;
     }
 
+    /**
+     * Warns if the game looks like a near-duplicate of another game in the catalog
+     * and lets the user decide whether to save it anyway.
+     *
+     * @param duplicates the catalog games similar to the game being saved
+     * @return true if there is no likely duplicate or the user chose to save anyway
+     */
+    private boolean confirmNotDuplicate(List<Game> duplicates) {
+        // The game being edited is not a duplicate of itself
+        duplicates.removeIf(game -> game == originalGame);
+        if (duplicates.isEmpty()) {
+            return true;
+        }
+
+        Game closest = duplicates.get(0);
+        Alert alert = new Alert(AlertType.CONFIRMATION);
+        alert.setTitle("Possible Duplicate");
+        alert.setHeaderText("This game may already be in your catalog");
+        alert.setContentText("It looks similar to \"" + closest.getTitle() + "\" by " + closest.getDeveloper()
+                + (duplicates.size() > 1 ? " and " + (duplicates.size() - 1) + " other game(s)" : "")
+                + ".\n\nSave it anyway?");
+        return alert.showAndWait().filter(response -> response == ButtonType.OK).isPresent();
+    }
+
     /**
      * Creates a Game object from form fields.
      *
@@ -371,9 +524,21 @@ public class AddGameController {
      */
     @FXML
     private void handleCancel() {
+        cancelDuplicateCheck();
         closeWindow();
     }
 
+    /**
+     * Drops a duplicate check still running, so the game is not saved when it ends.
+     */
+    private void cancelDuplicateCheck() {
+        if (duplicateCheck != null) {
+            duplicateCheck.cancel();
+            duplicateCheck = null;
+        }
+        saveButton.setDisable(false);
+    }
+
     /**
      * Closes the window.
      */
@@ -0,0 +1,220 @@
+package com.example.gamecatalog.controller;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.CustomMenuItem;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.MenuButton;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Filter menu content for a facet with many values.
+ * Instead of one menu item per value, the menu holds a search field above a list of
+ * the values. The list is virtualized, so only the visible rows have cells, and its
+ * items are just indexes into the value arrays. The values and their counts are
+ * fetched each time the menu opens, so they are never computed for a menu that is
+ * not looked at.
+ * <p>
+ * Typing narrows the list: values starting with the text come first, found by binary
+ * search over the values sorted by their lowercase form, then values containing it.
+ */
+public class FacetPicker {
+    private static final int VISIBLE_ROWS = 12;
+    private static final double ROW_HEIGHT = 24.0;
+    private static final double PICKER_WIDTH = 260.0;
+    // List item standing for the entry that clears the filter
+    private static final int ALL = -1;
+
+    private final MenuButton menu;
+    private final String label;
+    private final String allText;
+    private final Supplier<Map<String, Integer>> counter;
+    private final Consumer<String> onPick;
+
+    private final TextField searchField = new TextField();
+    private final ListView<Integer> list = new ListView<>();
+
+    // Values and counts as last fetched, in display order
+    private String[] values = new String[0];
+    private int[] counts = new int[0];
+    // Lowercase values, and the value indexes sorted by them, for prefix search
+    private String[] keys = new String[0];
+    private int[] byKey = new int[0];
+
+    /**
+     * Installs a picker as the only item of a filter menu.
+     *
+     * @param menu the filter menu
+     * @param label the menu text when no value is chosen
+     * @param allText the text of the entry that clears the filter
+     * @param counter supplies the values that can be chosen and their game counts
+     * @param onPick receives the chosen value, or null when the filter is cleared
+     */
+    public FacetPicker(MenuButton menu, String label, String allText,
+                       Supplier<Map<String, Integer>> counter, Consumer<String> onPick) {
+        this.menu = menu;
+        this.label = label;
+        this.allText = allText;
+        this.counter = counter;
+        this.onPick = onPick;
+
+        searchField.setPromptText("Search...");
+        searchField.textProperty().addListener((obs, oldText, newText) -> showMatches(newText));
+        // Enter picks the best match; the entry that clears the filter is not a match
+        searchField.setOnAction(e -> {
+            if (list.getItems().size() > 1) {
+                pick(list.getItems().get(1));
+            }
+        });
+
+        list.setFixedCellSize(ROW_HEIGHT);
+        list.setPrefSize(PICKER_WIDTH, VISIBLE_ROWS * ROW_HEIGHT);
+        list.setCellFactory(view -> new ListCell<Integer>() {
+            @Override
+            protected void updateItem(Integer index, boolean empty) {
+                super.updateItem(index, empty);
+                if (empty || index == null) {
+                    setText(null);
+                } else if (index == ALL) {
+                    setText(allText);
+                } else {
+                    setText(values[index] + " (" + counts[index] + ")");
+                }
+            }
+        });
+        list.setOnMouseClicked(e -> {
+            Integer index = list.getSelectionModel().getSelectedItem();
+            if (index != null) {
+                pick(index);
+            }
+        });
+        list.setOnKeyPressed(e -> {
+            Integer index = list.getSelectionModel().getSelectedItem();
+            if (e.getCode() == KeyCode.ENTER && index != null) {
+                pick(index);
+            }
+        });
+
+        VBox content = new VBox(5, searchField, list);
+        CustomMenuItem item = new CustomMenuItem(content, false);
+        menu.getItems().setAll(item);
+        menu.setOnShowing(e -> {
+            reload();
+            searchField.clear();
+            showMatches("");
+            Platform.runLater(searchField::requestFocus);
+        });
+    }
+
+    /**
+     * Fetches the current values and counts and indexes them for searching.
+     */
+    private void reload() {
+        Map<String, Integer> current = counter.get();
+        values = current.keySet().toArray(new String[0]);
+        counts = new int[values.length];
+        keys = new String[values.length];
+        byKey = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            counts[i] = current.get(values[i]);
+            keys[i] = values[i].toLowerCase(Locale.ROOT);
+            byKey[i] = i;
+        }
+        sortByKey(byKey, new int[byKey.length], 0, byKey.length);
+    }
+
+    /**
+     * Merge sorts value indexes by their keys. Values usually arrive sorted ignoring
+     * case, which is nearly key order, so most merges find their halves already in
+     * order and stop after one comparison.
+     */
+    private void sortByKey(int[] order, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortByKey(order, buffer, from, mid);
+        sortByKey(order, buffer, mid, to);
+        if (keys[order[mid - 1]].compareTo(keys[order[mid]]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && keys[buffer[left]].compareTo(keys[buffer[right]]) <= 0)) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Lists the entry that clears the filter and the values matching a search text.
+     *
+     * @param text the search text; empty lists every value
+     */
+    private void showMatches(String text) {
+        String term = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        List<Integer> matches = new ArrayList<>();
+        matches.add(ALL);
+        if (term.isEmpty()) {
+            for (int i = 0; i < values.length; i++) {
+                matches.add(i);
+            }
+        } else {
+            // Values starting with the term form one run of the key order
+            int first = lowerBound(term);
+            boolean[] listed = new boolean[values.length];
+            for (int k = first; k < byKey.length && keys[byKey[k]].startsWith(term); k++) {
+                matches.add(byKey[k]);
+                listed[byKey[k]] = true;
+            }
+            for (int i = 0; i < values.length; i++) {
+                if (!listed[i] && keys[i].contains(term)) {
+                    matches.add(i);
+                }
+            }
+        }
+        ObservableList<Integer> items = FXCollections.observableArrayList(matches);
+        list.setItems(items);
+        list.scrollTo(0);
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = byKey.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[byKey[mid]].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void pick(int index) {
+        menu.hide();
+        if (index == ALL) {
+            menu.setText(label);
+            onPick.accept(null);
+        } else {
+            menu.setText(values[index]);
+            onPick.accept(values[index]);
+        }
+    }
+}
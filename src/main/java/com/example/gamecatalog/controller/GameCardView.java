@@ -0,0 +1,168 @@
+package com.example.gamecatalog.controller;
+
+import com.example.gamecatalog.util.ImageCache;
+import com.example.gamecatalog.util.ThumbnailAtlas;
+
+import javafx.geometry.Bounds;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.Label;
+import javafx.scene.control.MenuItem;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Card showing one game in the catalog grid.
+ * The card is built directly in code rather than loaded from FXML, so creating the
+ * cards of a page costs no parsing or reflection. The node ids match the selectors of
+ * game-card.css. Covers are slices of the page's {@link ThumbnailAtlas}, and the
+ * options menu is only created when it is first opened.
+ */
+public class GameCardView extends AnchorPane {
+    private static final String STYLESHEET =
+            GameCardView.class.getResource("/fxml/styles/game-card.css").toExternalForm();
+    private static final String HOVER_STYLE = "-fx-background-color: #3c3c3c;";
+
+    private final ImageView gameImage = new ImageView();
+    private final Label title = new Label("Game Title");
+    private final Button gameOptions = new Button("...");
+    private final Label gameInfo = new Label("Publisher / Year");
+    private ContextMenu optionsMenu;
+
+    private Runnable onDoubleClickAction;
+    private Runnable onHover;
+    private Runnable onUpdateGame;
+    private Runnable onRemoveGame;
+    private Runnable onAddToFavorite;
+
+    /**
+     * Creates an empty card.
+     */
+    public GameCardView() {
+        setId("card_base");
+        getStylesheets().add(STYLESHEET);
+        setMinSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        setPrefSize(200.0, 265.0);
+
+        gameImage.setId("game_image");
+        gameImage.setFitWidth(ImageCache.COVER_SIZE);
+        gameImage.setFitHeight(ImageCache.COVER_SIZE);
+        gameImage.setPickOnBounds(true);
+        gameImage.setPreserveRatio(true);
+        AnchorPane.setLeftAnchor(gameImage, 7.0);
+        AnchorPane.setRightAnchor(gameImage, 7.0);
+        AnchorPane.setTopAnchor(gameImage, 7.0);
+
+        title.setId("title");
+        title.setPrefSize(150.0, 30.0);
+        title.setFont(Font.font("System", FontWeight.BOLD, 20.0));
+        HBox.setHgrow(title, Priority.NEVER);
+
+        gameOptions.setId("game_options");
+        gameOptions.setMnemonicParsing(false);
+        gameOptions.setPrefSize(30.0, 30.0);
+
+        HBox titleRow = new HBox(title, gameOptions);
+        AnchorPane.setLeftAnchor(titleRow, 10.0);
+        AnchorPane.setRightAnchor(titleRow, 10.0);
+        AnchorPane.setTopAnchor(titleRow, 200.0);
+
+        gameInfo.setId("game_info");
+        gameInfo.setPrefSize(165.0, 20.0);
+        AnchorPane.setLeftAnchor(gameInfo, 20.0);
+        AnchorPane.setRightAnchor(gameInfo, 20.0);
+        AnchorPane.setTopAnchor(gameInfo, 230.0);
+
+        getChildren().addAll(gameImage, titleRow, gameInfo);
+
+        setOnMouseClicked(this::handleCardClicked);
+        setOnMouseEntered(e -> {
+            setStyle(HOVER_STYLE);
+            if (onHover != null) onHover.run();
+        });
+        setOnMouseExited(e -> setStyle(""));
+        gameOptions.setOnMouseEntered(e -> setStyle(""));
+        gameOptions.setOnMouseExited(e -> {
+            if (isHover()) {
+                setStyle(HOVER_STYLE);
+            }
+        });
+        gameOptions.setOnAction(e -> showOptionsMenu());
+    }
+
+    /**
+     * Shows a game on the card.
+     *
+     * @param title the title
+     * @param gameInfo the line below the title
+     * @param atlas the covers of the page the card is on
+     * @param slot the index of the card on the page
+     */
+    public void setGameData(String title, String gameInfo, ThumbnailAtlas atlas, int slot) {
+        this.title.setText(title);
+        this.gameInfo.setText(gameInfo);
+        // Cards of a page share the atlas, so the page needs a single texture
+        gameImage.setImage(atlas.getImage());
+        gameImage.setViewport(atlas.getViewport(slot));
+    }
+
+    public void setOnDoubleClick(Runnable action) {
+        this.onDoubleClickAction = action;
+    }
+
+    public void setOnHover(Runnable action) {
+        this.onHover = action;
+    }
+
+    public void setOnUpdateGame(Runnable action) {
+        this.onUpdateGame = action;
+    }
+
+    public void setOnRemoveGame(Runnable action) {
+        this.onRemoveGame = action;
+    }
+
+    public void setOnAddToFavorite(Runnable action) {
+        this.onAddToFavorite = action;
+    }
+
+    private void handleCardClicked(MouseEvent e) {
+        if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+            if (!gameOptions.isHover()) {
+                if (onDoubleClickAction != null) onDoubleClickAction.run();
+            }
+        }
+    }
+
+    private void showOptionsMenu() {
+        if (optionsMenu == null) {
+            MenuItem updateItem = new MenuItem("Update Game");
+            updateItem.setOnAction(event -> {
+                if (onUpdateGame != null) onUpdateGame.run();
+            });
+
+            MenuItem removeItem = new MenuItem("Remove Game");
+            removeItem.setOnAction(event -> {
+                if (onRemoveGame != null) onRemoveGame.run();
+            });
+
+            MenuItem favoriteItem = new MenuItem("Add to Favorite");
+            favoriteItem.setOnAction(event -> {
+                if (onAddToFavorite != null) onAddToFavorite.run();
+            });
+
+            optionsMenu = new ContextMenu(updateItem, removeItem, favoriteItem);
+        }
+
+        // Position the context menu right below the button
+        Bounds bounds = gameOptions.localToScreen(gameOptions.getBoundsInLocal());
+        optionsMenu.show(gameOptions, bounds.getMinX(), bounds.getMaxY());
+    }
+}
@@ -2,41 +2,60 @@ package com.example.gamecatalog.controller;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 
 import com.example.gamecatalog.model.Game;
+import com.example.gamecatalog.repository.CatalogChange;
+import com.example.gamecatalog.repository.CatalogExporter;
+import com.example.gamecatalog.repository.CatalogFormat;
+import com.example.gamecatalog.repository.CatalogImporter;
+import com.example.gamecatalog.repository.Facet;
+import com.example.gamecatalog.repository.GameQuery;
+import com.example.gamecatalog.repository.GameSort;
+import com.example.gamecatalog.repository.QueryResult;
+import com.example.gamecatalog.repository.FavoritesRepository;
 import com.example.gamecatalog.repository.GameRepository;
+import com.example.gamecatalog.util.DescriptionStore;
 import com.example.gamecatalog.util.HelpManager;
+import com.example.gamecatalog.util.ProgressDialog;
+import com.example.gamecatalog.util.ThumbnailAtlas;
 
 import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckMenuItem;
+import javafx.scene.control.Label;
 import javafx.scene.control.MenuButton;
 import javafx.scene.control.MenuItem;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.SeparatorMenuItem;
+import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.FlowPane;
 import javafx.stage.FileChooser;
-import javafx.stage.Modality;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
-import javafx.stage.StageStyle;
 
 public class GameCatalogController
 {
@@ -44,21 +63,55 @@ public class GameCatalogController
     private double xOffset = 0;
     private double yOffset = 0;
     private final int RESIZE_MARGIN = 7;
+    private static final int MAX_LISTED_DUPLICATE_GROUPS = 500;
+    private static final int YEAR_FILTER_RANGES = 8;
+    // Minimum ratings offered by the rating filter
+    private static final int LOWEST_RATING_FILTER = 5;
+    private static final int HIGHEST_RATING_FILTER = 9;
     private boolean isMaximized = false;
     private double prevX, prevY, prevWidth, prevHeight, dragOffsetX, dragOffsetY;
+    private static final int PAGE_SIZE = 100;
+    // Pages prepared in the background on each side of the page shown
+    private static final int PREFETCH_PAGES = 1;
     private int pageNumber = 1;
     private static int maxPage = 1;
-    private List<Game> allGamesList;
-    private List<Game> filteredGamesList;
+    private QueryResult currentResult = QueryResult.of(new ArrayList<>());
+    // Incremented by every render and page patch, so cards of an outdated render are dropped
+    private int renderGeneration;
     private String currentGenreFilter = null;
     private String currentPlatformFilter = null;
     private String currentTagFilter = null;
     private String currentPublisherFilter = null;
     private String currentDeveloperFilter = null;
     private int[] currentYearRange = null;
-    private String currentSort = null;
+    private Double currentMinRating = null;
+    private GameSort currentSort = GameSort.CATALOG;
     private String currentSearchTerm = null;
     private GameRepository gameRepository;
+    private FavoritesRepository favoritesRepository;
+    private boolean showingFavorites = false;
+    // Value pickers of the facet filter menus, created once
+    private final Map<Facet, FacetPicker> facetPickers = new EnumMap<>(Facet.class);
+    private final PagePrefetcher prefetcher = new PagePrefetcher(PAGE_SIZE, PREFETCH_PAGES, Renderer::createCards);
+    // Cards on the current page, by the game instance they show (FX thread only)
+    private final Map<Game, Node> visibleCards = new IdentityHashMap<>();
+    // Recomputes the view and the year and rating menus after catalog changes, so the
+    // indexes of new snapshots are built off the FX thread
+    private final ExecutorService viewUpdater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "view-updater");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Incremented by every view the user switches to and every recomputation of the view;
+    // a recomputed view is only shown if it is still the latest request
+    private volatile int viewRequest;
+    // Incremented by every recomputation of the year and rating menus
+    private volatile int menuRequest;
+    // Set while a recomputed view is on its way (FX thread only)
+    private boolean viewUpdatePending;
+    // Storage toggles of the file menu, disabled while the catalog loads
+    private CheckMenuItem compressCatalog;
+    private CheckMenuItem ndjsonCatalog;
 
     @FXML private AnchorPane base;
 
@@ -67,6 +120,8 @@ public class GameCatalogController
     @FXML private Button restore_maximize;
     @FXML private Button close;
     @FXML private MenuButton file_menu;
+    @FXML private ProgressIndicator loading_indicator;
+    @FXML private Label loading_label;
     @FXML private Button help;
 
     @FXML private Button show_all;
@@ -86,6 +141,7 @@ public class GameCatalogController
     @FXML private MenuButton release_year_filter;
     @FXML private MenuButton publisher_filter;
     @FXML private MenuButton developper_filter;
+    @FXML private MenuButton rating_filter;
     @FXML private Button add_game;
 
     @FXML private void handleClose(){
@@ -126,39 +182,40 @@ public class GameCatalogController
     }
 
     @FXML private void handleFirstPage(){
-
+        showPage(1);
     }
 
     @FXML private void handleLastPage(){
-
+        showPage(maxPage);
     }
 
     @FXML private void handleNextPage(){
-
+        showPage(pageNumber + 1);
     }
 
     @FXML private void handlePreviousPage(){
+        showPage(pageNumber - 1);
+    }
 
+    /**
+     * Renders another page of the current view
+     *
+     * @param page the page to show, clamped to the existing pages
+     */
+    private void showPage(int page) {
+        int target = Math.max(1, Math.min(page, maxPage));
+        if (target == pageNumber) {
+            return;
+        }
+        pageNumber = target;
+        render(currentResult, game_card_flow, pageNumber);
+        page_number.setText(String.valueOf(pageNumber));
     }
 
     @FXML private void handleAddGame() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/add-game-form.fxml"));
-            Parent root = loader.load();
-
-            AddGameController controller = loader.getController();
-
-            Stage addGameStage = new Stage();
-            addGameStage.initModality(Modality.APPLICATION_MODAL);
-            addGameStage.initStyle(StageStyle.UNDECORATED);
-            addGameStage.setScene(new Scene(root));
-
-            controller.setStage(addGameStage);
-
-            addGameStage.showAndWait();
-
-            // Force a full refresh of the game list
-            forceRefreshGameList();
+            // The new game reaches the page through the repository's change stream
+            AddGameController.showAddForm();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -169,63 +226,59 @@ public class GameCatalogController
     }
 
     @FXML private void handleShowFavorites() {
-        Alert alert = new Alert(AlertType.INFORMATION);
-        alert.setTitle("Coming Soon");
-        alert.setHeaderText(null);
-        alert.setContentText("This feature is not ready but stay tuned! We are Preparing!");
-        alert.showAndWait();
+        // The favorites view is kept resolved by the favorites repository, so no filtering is needed
+        showingFavorites = true;
+        discardViewUpdates();
+        currentResult = QueryResult.of(favoritesRepository.getFavoriteGames(gameRepository.getSnapshot()));
+        pageNumber = 1;
+        render(currentResult, game_card_flow, pageNumber);
+        page_number.setText(String.valueOf(pageNumber));
     }
 
-    /**
-     * Forces a complete refresh of the game list by reloading from repository
-     * and rebuilding the UI components.
-     */
-    private void forceRefreshGameList() {
-        // Clear existing items first
-        Platform.runLater(() -> game_card_flow.getChildren().clear());
-
-        // Create a new repository instance and reload games
-        this.gameRepository = new GameRepository();
-        allGamesList = gameRepository.getAllGames();
-
-        // Wait a moment to ensure file system operations complete
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        // Rebuild the flow pane
-        new Thread(() -> {
-            Platform.runLater(() -> {
-                // Clear again just to be safe
-                game_card_flow.getChildren().clear();
-
-                // Render games
-                render(allGamesList, game_card_flow, pageNumber);
-
-                // Update page number display
-                page_number.setText(String.valueOf(pageNumber));
-            });
-        }).start();
+    @FXML private void handleShowAll() {
+        applyFilters();
     }
 
     /**
      * Refreshes the game list by loading games from repository.
      */
     private void refreshGameList() {
-        allGamesList = gameRepository.getAllGames();
-        filteredGamesList = allGamesList; // Initialize filtered list with all games
-        render(filteredGamesList, game_card_flow, pageNumber);
+        currentResult = gameRepository.query(GameQuery.ALL); // Initialize the view with all games
+        render(currentResult, game_card_flow, pageNumber);
     }
 
-    public static void render(List<Game> list, FlowPane flowPane, int page) {
-        maxPage = (int) Math.ceil((double) list.size() / 100);
+    public void render(QueryResult result, FlowPane flowPane, int page) {
+        maxPage = pageCount(result);
 
         // Clear the existing flow pane items
+        visibleCards.clear();
+        int generation = ++renderGeneration;
         Platform.runLater(() -> flowPane.getChildren().clear());
 
-        new Renderer(list, flowPane, page).start();
+        PagePrefetcher.PreparedPage prepared = prefetcher.take(result, page);
+        if (prepared != null) {
+            // The cards were built while the previous page was shown
+            Platform.runLater(() -> {
+                if (renderGeneration == generation) {
+                    flowPane.getChildren().setAll(prepared.getCards());
+                    for (int i = 0; i < prepared.getGames().size(); i++) {
+                        visibleCards.put(prepared.getGames().get(i), prepared.getCards().get(i));
+                    }
+                }
+            });
+        } else {
+            // Only the games of the requested page are resolved
+            int firstIndex = PAGE_SIZE * (page - 1);
+            List<Game> games = result.getRange(firstIndex, PAGE_SIZE);
+            new Renderer(result, page, games, flowPane, visibleCards, () -> renderGeneration == generation).start();
+        }
+
+        // Get the neighbouring pages ready for the next page flip
+        prefetcher.prefetch(result, page);
+    }
+
+    private static int pageCount(QueryResult result) {
+        return Math.max(1, (result.size() + PAGE_SIZE - 1) / PAGE_SIZE);
     }
 
     public void setStage(Stage stage){
@@ -347,129 +400,147 @@ public class GameCatalogController
     }
 
     private static class Renderer extends Thread {
-        private final List<Game> gameList;
+        private final QueryResult view;
+        private final int page;
+        private final List<Game> pageGames;
         private final FlowPane flowPane;
-        private final int pageNumber;
-        private final GameRepository gameRepository;
-
-        public Renderer(List<Game> list, FlowPane flowPane, int page) {
-            this.gameList = list;
+        private final Map<Game, Node> cards;
+        private final BooleanSupplier current;
+
+        public Renderer(QueryResult view, int page, List<Game> pageGames, FlowPane flowPane,
+                        Map<Game, Node> cards, BooleanSupplier current) {
+            this.view = view;
+            this.page = page;
+            this.pageGames = pageGames;
             this.flowPane = flowPane;
-            this.pageNumber = page;
-            this.gameRepository = new GameRepository();
+            this.cards = cards;
+            this.current = current;
         }
 
         @Override
         public void run() {
-            for (int i = 0; i < 100; i++) {
-                int index = i + 100 * (pageNumber - 1);
-                if (index >= gameList.size()) break;
-
-                final int gameIndex = index; // Final copy for lambda expressions
-                Game game = gameList.get(gameIndex);
+            ThumbnailAtlas atlas = atlasFor(view, page, pageGames);
+            for (int i = 0; i < pageGames.size(); i++) {
+                Game game = pageGames.get(i);
 
-                try {
-                    FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/game-card-view.fxml"));
-                    Node card = loader.load();
-
-                    GameCardController controller = loader.getController();
-
-                    // Pass the cover image path if available
-                    if (game.getCoverImagePath() != null && !game.getCoverImagePath().isEmpty()) {
-                        controller.setGameData(
-                                game.getTitle(),
-                                game.getPublisher() + " / " + game.getReleaseYear(),
-                                game.getCoverImagePath()
-                        );
-                    } else {
-                        controller.setGameData(
-                                game.getTitle(),
-                                game.getPublisher() + " / " + game.getReleaseYear()
-                        );
+                Node card = createCard(game, atlas, i);
+                Platform.runLater(() -> {
+                    // A newer render or page patch owns the pane now
+                    if (current.getAsBoolean()) {
+                        flowPane.getChildren().add(card);
+                        cards.put(game, card);
                     }
-
-                    // Set up the context menu actions
-                    controller.setOnUpdateGame(() -> handleUpdateGame(gameIndex, game));
-                    controller.setOnRemoveGame(() -> handleRemoveGame(gameIndex, game));
-                    controller.setOnAddToFavorite(() -> handleAddToFavorite(game));
-
-                    Platform.runLater(() -> flowPane.getChildren().add(card));
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                });
             }
         }
 
-        private void handleUpdateGame(int index, Game game) {
-            try {
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/add-game-form.fxml"));
-                Parent root = loader.load();
+        /**
+         * Builds the cards of a page, sharing one cover atlas.
+         *
+         * @param view the view the page belongs to
+         * @param page the page number
+         * @param games the games on the page
+         * @return the card nodes, in page order
+         */
+        static List<Node> createCards(QueryResult view, int page, List<Game> games) {
+            ThumbnailAtlas atlas = atlasFor(view, page, games);
+            List<Node> pageCards = new ArrayList<>(games.size());
+            for (int i = 0; i < games.size(); i++) {
+                pageCards.add(createCard(games.get(i), atlas, i));
+            }
+            return pageCards;
+        }
 
-                AddGameController controller = loader.getController();
-                controller.setForUpdate(game, index);
+        /**
+         * Returns the cover atlas of a page, building it unless it is cached.
+         *
+         * @param view the view the page belongs to
+         * @param page the page number
+         * @param games the games on the page
+         * @return the atlas holding the covers of the games
+         */
+        static ThumbnailAtlas atlasFor(QueryResult view, int page, List<Game> games) {
+            List<String> coverPaths = new ArrayList<>(games.size());
+            for (Game game : games) {
+                coverPaths.add(game.getCoverImagePath());
+            }
+            return ThumbnailAtlas.forPage(view, page, coverPaths);
+        }
 
-                Stage updateGameStage = new Stage();
-                updateGameStage.initModality(Modality.APPLICATION_MODAL);
-                updateGameStage.initStyle(StageStyle.UNDECORATED);
-                updateGameStage.setScene(new Scene(root));
+        /**
+         * Builds the card for a game and wires its context menu actions.
+         *
+         * @param game the game to show
+         * @param atlas the cover atlas of the page
+         * @param slot the position of the game on the page
+         * @return the card node
+         */
+        static Node createCard(Game game, ThumbnailAtlas atlas, int slot) {
+            GameCardView card = new GameCardView();
+            bindCard(card, game, atlas, slot);
+            return card;
+        }
 
-                controller.setStage(updateGameStage);
+        /**
+         * Shows a game on a card and points the card's actions at it.
+         *
+         * @param card the card, new or showing another version of the game
+         * @param game the game to show
+         * @param atlas an atlas holding the cover of the game
+         * @param slot the index of the cover in the atlas
+         */
+        static void bindCard(GameCardView card, Game game, ThumbnailAtlas atlas, int slot) {
+            card.setGameData(
+                    game.getTitle(),
+                    game.getPublisher() + " / " + game.getReleaseYear(),
+                    atlas,
+                    slot
+            );
+
+            // Opening the details is likely once the pointer rests on a card
+            card.setOnHover(() -> DescriptionStore.getInstance().prefetch(game.getDescriptionPath()));
+            card.setOnDoubleClick(() -> handleOpenDetails(game));
+
+            // Set up the context menu actions
+            card.setOnUpdateGame(() -> handleUpdateGame(game));
+            card.setOnRemoveGame(() -> handleRemoveGame(game));
+            card.setOnAddToFavorite(() -> handleAddToFavorite(game));
+        }
 
-                updateGameStage.showAndWait();
+        private static void handleOpenDetails(Game game) {
+            try {
+                GameDetailController.showDetails(game);
+            } catch (IOException e) {
+                e.printStackTrace();
+                showAlert("Error", "Failed to open game details: " + e.getMessage());
+            }
+        }
 
-                // Refresh game list after update
-                Platform.runLater(() -> {
-                    GameCatalogController mainController = getGameCatalogController();
-                    if (mainController != null) {
-                        mainController.forceRefreshGameList();
-                    }
-                });
+        private static void handleUpdateGame(Game game) {
+            try {
+                // The updated card is rebound through the repository's change stream
+                AddGameController.showUpdateForm(game);
             } catch (IOException e) {
                 e.printStackTrace();
                 showAlert("Error", "Failed to open update form: " + e.getMessage());
             }
         }
 
-        private void handleRemoveGame(int index, Game game) {
+        private static void handleRemoveGame(Game game) {
             Alert alert = new Alert(AlertType.CONFIRMATION);
             alert.setTitle("Remove Game");
             alert.setHeaderText("Remove " + game.getTitle());
             alert.setContentText("Are you sure you want to remove this game from your catalog?");
 
             if (alert.showAndWait().get() == ButtonType.OK) {
-                // Create a new repository instance to ensure fresh data
-                GameRepository gameRepository = new GameRepository();
-
-                // Find the game by title and other properties since the index might be wrong
-                List<Game> allGames = gameRepository.getAllGames();
-                int correctIndex = -1;
-
-                // Find the game by matching title, publisher and developer
-                for (int i = 0; i < allGames.size(); i++) {
-                    Game g = allGames.get(i);
-                    if (g.getTitle().equals(game.getTitle()) &&
-                            g.getPublisher().equals(game.getPublisher()) &&
-                            g.getDeveloper().equals(game.getDeveloper())) {
-                        correctIndex = i;
-                        break;
-                    }
-                }
+                GameRepository gameRepository = GameRepository.getInstance();
 
-                if (correctIndex >= 0 && gameRepository.removeGame(correctIndex)) {
+                // The card's game is the instance held by the repository
+                if (gameRepository.removeGame(game)) {
                     // Save changes to the JSON file
                     boolean saved = gameRepository.saveGames();
                     if (saved) {
                         showAlert("Success", "Game removed successfully");
-
-                        // Refresh game list after removal
-                        Platform.runLater(() -> {
-                            GameCatalogController mainController = getGameCatalogController();
-                            if (mainController != null) {
-                                // Update the main controller's repository with this one
-                                // to ensure the in-memory list is also updated
-                                mainController.forceRefreshGameList();
-                            }
-                        });
                     } else {
                         showAlert("Error", "Failed to save changes after removing the game.");
                     }
@@ -479,23 +550,16 @@ public class GameCatalogController
             }
         }
 
-        private void handleAddToFavorite(Game game) {
-            // Set the favorite flag in the game object
-            List<String> tags = game.getTags();
-            if (!tags.contains("Favorite")) {
-                tags.add("Favorite");
-                game.setTags(tags);
-
-                // Save the updated game
-                gameRepository.saveGames();
-
+        private static void handleAddToFavorite(Game game) {
+            // Favorites live in their own store; the catalog file is left untouched
+            if (FavoritesRepository.getInstance().toggleFavorite(game)) {
                 showAlert("Success", game.getTitle() + " added to favorites!");
             } else {
-                showAlert("Info", game.getTitle() + " is already in favorites.");
+                showAlert("Info", game.getTitle() + " removed from favorites.");
             }
         }
 
-        private void showAlert(String title, String message) {
+        private static void showAlert(String title, String message) {
             Platform.runLater(() -> {
                 Alert alert = new Alert(AlertType.INFORMATION);
                 alert.setTitle(title);
@@ -504,29 +568,64 @@ public class GameCatalogController
                 alert.showAndWait();
             });
         }
+    }
 
-        private GameCatalogController getGameCatalogController() {
-            // This is a simplified approach - in a real app you would use a proper
-            // reference to the main controller via dependency injection or similar
-            try {
-                for (javafx.stage.Window window : javafx.stage.Window.getWindows()) {
-                    if (window instanceof Stage) {
-                        Stage stage = (Stage) window;
-                        if (stage.getScene() != null && stage.getScene().getRoot() != null) {
-                            return (GameCatalogController) stage.getScene().getUserData();
-                        }
-                    }
+    /**
+     * Receives repository changes and applies them to the visible page on the FX thread.
+     * The next change is requested only once the previous one has been applied, so a
+     * burst of edits cannot flood the FX event queue.
+     */
+    private class CatalogChangeSubscriber implements Flow.Subscriber<CatalogChange> {
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(CatalogChange change) {
+            Platform.runLater(() -> {
+                try {
+                    applyCatalogChange(change);
+                } finally {
+                    subscription.request(1);
                 }
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-            return null;
+            });
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throwable.printStackTrace();
+        }
+
+        @Override
+        public void onComplete() {
         }
     }
 
     public void initialize(){
-        // Initialize the repository
-        gameRepository = new GameRepository();
+        // Initialize the repositories; the catalog file is read once the window is up
+        gameRepository = GameRepository.getInstanceWithoutLoading();
+        favoritesRepository = FavoritesRepository.getInstance();
+        // An open favorites view follows toggles made from the cards, and is filled once
+        // the favorites have been read
+        favoritesRepository.addChangeListener(new FavoritesRepository.ChangeListener() {
+            @Override
+            public void favoriteToggled(Game game, boolean favorite) {
+                favoritesLoaded();
+            }
+
+            @Override
+            public void favoritesLoaded() {
+                Platform.runLater(() -> {
+                    if (showingFavorites) {
+                        scheduleViewUpdate(true, false);
+                    }
+                });
+            }
+        });
 
         // Load games from repository
         refreshGameList();
@@ -537,6 +636,14 @@ public class GameCatalogController
         // Setup search field
         setupSearchField();
 
+        // Patch the page as the catalog changes, including edits made by other programs
+        gameRepository.getChangePublisher().subscribe(new CatalogChangeSubscriber());
+        gameRepository.startWatching();
+
+        // Games arrive through the change subscriber, so loading starts once it is subscribed
+        gameRepository.loadInBackground();
+        updateLoadingStatus();
+
         // Store this controller in the scene's user data for access from other classes
         Platform.runLater(() -> {
             if (stage != null && stage.getScene() != null) {
@@ -583,131 +690,97 @@ public class GameCatalogController
 
         // Add event handler for favorites button
         show_favorites.setOnAction(event -> handleShowFavorites());
+
+        // Add event handler for the all games button
+        show_all.setOnAction(event -> handleShowAll());
     }
 
     /**
      * Sets up the filter UI components with data from the repository
      */
     private void setupFilters() {
-        // Setup genre filter
-        setupGenreFilter();
-
-        // Setup platform filter
-        setupPlatformFilter();
-
-        // Setup tags filter
-        setupTagsFilter();
-
-        // Setup publisher filter
-        setupPublisherFilter();
-
-        // Setup developer filter
-        setupDeveloperFilter();
+        // Setup genre, platform, tags, publisher and developer filters
+        setupFacetFilters();
 
         // Setup release year filter
         setupReleaseYearFilter();
 
+        // Setup rating filter
+        setupRatingFilter();
+
         // Setup sort menu
         setupSortMenu();
     }
 
     /**
-     * Sets up the genre filter MenuButton with items from the repository
+     * Sets up the genre, platform, tags, publisher and developer filters. Their values
+     * are counted under the active filters whenever a menu is opened
      */
-    private void setupGenreFilter() {
-        // Clear existing items
-        genre_filter.getItems().clear();
-
-        // Add "All Genres" option
-        javafx.scene.control.MenuItem allGenresItem = new javafx.scene.control.MenuItem("All Genres");
-        allGenresItem.setOnAction(e -> {
-            genre_filter.setText("Genre");
-            currentGenreFilter = null;
-            applyFilters();
-        });
-        genre_filter.getItems().add(allGenresItem);
+    private void setupFacetFilters() {
+        setupGenreFilter();
+        setupPlatformFilter();
+        setupTagsFilter();
+        setupPublisherFilter();
+        setupDeveloperFilter();
+    }
 
-        // Get all unique genres from the repository
-        List<String> genres = gameRepository.getAllGenres();
+    /**
+     * Sets up the genre filter MenuButton with the genres left by the other filters
+     */
+    private void setupGenreFilter() {
+        populateFacetMenu(genre_filter, Facet.GENRE, "Genre", "All Genres", value -> currentGenreFilter = value);
+    }
 
-        // Add each genre as a menu item
-        for (String genre : genres) {
-            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(genre);
-            item.setOnAction(e -> {
-                genre_filter.setText(genre);
-                currentGenreFilter = genre;
-                applyFilters();
-            });
-            genre_filter.getItems().add(item);
-        }
+    /**
+     * Installs a searchable picker in a facet filter menu. When the menu is opened it
+     * lists the values that still match games under the other active filters, each
+     * with the number of games it would leave
+     *
+     * @param menu the menu to fill
+     * @param facet the facet listed by the menu
+     * @param label the menu text when no value is chosen
+     * @param allText the text of the item that clears the filter
+     * @param selection receives the chosen value, or null when the filter is cleared
+     */
+    private void populateFacetMenu(MenuButton menu, Facet facet, String label, String allText,
+                                   Consumer<String> selection) {
+        // The picker fetches its values itself, so it is only installed once
+        facetPickers.computeIfAbsent(facet, f -> new FacetPicker(menu, label, allText,
+                () -> gameRepository.getFacetCounts(f, currentQuery()),
+                value -> {
+                    selection.accept(value);
+                    applyFilters();
+                }));
     }
 
     /**
-     * Sets up the platform filter MenuButton with items from the repository
+     * Sets up the platform filter MenuButton with the platforms left by the other filters
      */
     private void setupPlatformFilter() {
-        // Clear existing items
-        platform_filter.getItems().clear();
-
-        // Add "All Platforms" option
-        javafx.scene.control.MenuItem allPlatformsItem = new javafx.scene.control.MenuItem("All Platforms");
-        allPlatformsItem.setOnAction(e -> {
-            platform_filter.setText("Platform");
-            currentPlatformFilter = null;
-            applyFilters();
-        });
-        platform_filter.getItems().add(allPlatformsItem);
-
-        // Get all unique platforms from the repository
-        List<String> platforms = gameRepository.getAllPlatforms();
-
-        // Add each platform as a menu item
-        for (String platform : platforms) {
-            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(platform);
-            item.setOnAction(e -> {
-                platform_filter.setText(platform);
-                currentPlatformFilter = platform;
-                applyFilters();
-            });
-            platform_filter.getItems().add(item);
-        }
+        populateFacetMenu(platform_filter, Facet.PLATFORM, "Platform", "All Platforms", value -> currentPlatformFilter = value);
     }
 
     /**
-     * Sets up the tags filter MenuButton with items from the repository
+     * Sets up the tag filter MenuButton with the tags left by the other filters
      */
     private void setupTagsFilter() {
-        // Clear existing items
-        tags_filter.getItems().clear();
-
-        // Add "All Tags" option
-        javafx.scene.control.MenuItem allTagsItem = new javafx.scene.control.MenuItem("All Tags");
-        allTagsItem.setOnAction(e -> {
-            tags_filter.setText("Tags");
-            currentTagFilter = null;
-            applyFilters();
-        });
-        tags_filter.getItems().add(allTagsItem);
-
-        // Get all unique tags from the repository
-        List<String> tags = gameRepository.getAllTags();
-
-        // Add each tag as a menu item
-        for (String tag : tags) {
-            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(tag);
-            item.setOnAction(e -> {
-                tags_filter.setText(tag);
-                currentTagFilter = tag;
-                applyFilters();
-            });
-            tags_filter.getItems().add(item);
-        }
+        populateFacetMenu(tags_filter, Facet.TAG, "Tags", "All Tags", value -> currentTagFilter = value);
     }
 
     /**
      * Sets up the release year filter MenuButton with year ranges
      */
     private void setupReleaseYearFilter() {
+        populateReleaseYearFilter(gameRepository.getReleaseYearHistogram(YEAR_FILTER_RANGES));
+    }
+
+    /**
+     * Fills the release year filter MenuButton
+     *
+     * @param ranges the year ranges and their game counts, oldest first, as returned by
+     *               {@link GameRepository#getReleaseYearHistogram(int)}
+     */
+    private void populateReleaseYearFilter(List<int[]> ranges) {
         // Clear existing items
         release_year_filter.getItems().clear();
 
@@ -720,22 +793,15 @@ public class GameCatalogController
         });
         release_year_filter.getItems().add(allYearsItem);
 
-        // Calculate year ranges in 5-year increments
-        int maxYear = gameRepository.getMaxReleaseYear();
-        int minYear = gameRepository.getMinReleaseYear();
-
-        // Round max year up to next 5-year boundary
-        maxYear = ((maxYear + 4) / 5) * 5;
-
-        // Create ranges from max to min in 5-year increments
-        for (int endYear = maxYear; endYear > minYear; endYear -= 5) {
-            int startYear = endYear - 4;
-            String rangeText = endYear + "-" + startYear;
-
-            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(rangeText);
-            final int start = startYear;
-            final int end = endYear;
+        // Offer ranges holding similar numbers of games, newest first
+        ranges = new ArrayList<>(ranges);
+        Collections.reverse(ranges);
+        for (int[] range : ranges) {
+            final int start = range[0];
+            final int end = range[1];
+            String rangeText = start == end ? String.valueOf(start) : end + "-" + start;
 
+            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(rangeText + " (" + range[2] + ")");
             item.setOnAction(e -> {
                 release_year_filter.setText(rangeText);
                 currentYearRange = new int[]{start, end};
@@ -747,67 +813,73 @@ public class GameCatalogController
     }
 
     /**
-     * Sets up the publisher filter MenuButton with items from the repository
+     * Sets up the rating filter MenuButton with minimum ratings and their game counts
      */
-    private void setupPublisherFilter() {
-        // Clear existing items
-        publisher_filter.getItems().clear();
-
-        // Add "All Publishers" option
-        javafx.scene.control.MenuItem allPublishersItem = new javafx.scene.control.MenuItem("All Publishers");
-        allPublishersItem.setOnAction(e -> {
-            publisher_filter.setText("Publisher");
-            currentPublisherFilter = null;
-            applyFilters();
-        });
-        publisher_filter.getItems().add(allPublishersItem);
-
-        // Get all unique publishers from the repository
-        List<String> publishers = gameRepository.getAllPublishers();
+    private void setupRatingFilter() {
+        populateRatingFilter(countGamesByRatingFilter());
+    }
 
-        // Add each publisher as a menu item
-        for (String publisher : publishers) {
-            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(publisher);
-            item.setOnAction(e -> {
-                publisher_filter.setText(publisher);
-                currentPublisherFilter = publisher;
-                applyFilters();
-            });
-            publisher_filter.getItems().add(item);
+    /**
+     * Counts the games left by each minimum rating of the rating filter
+     *
+     * @return the game counts, indexed by minimum rating
+     */
+    private int[] countGamesByRatingFilter() {
+        int[] counts = new int[HIGHEST_RATING_FILTER + 1];
+        for (int threshold = LOWEST_RATING_FILTER; threshold <= HIGHEST_RATING_FILTER; threshold++) {
+            counts[threshold] = gameRepository.countGamesByMinRating(threshold);
         }
+        return counts;
     }
 
     /**
-     * Sets up the developer filter MenuButton with items from the repository
+     * Fills the rating filter MenuButton
+     *
+     * @param counts the game counts, indexed by minimum rating
      */
-    private void setupDeveloperFilter() {
+    private void populateRatingFilter(int[] counts) {
         // Clear existing items
-        developper_filter.getItems().clear();
+        rating_filter.getItems().clear();
 
-        // Add "All Developers" option
-        javafx.scene.control.MenuItem allDevelopersItem = new javafx.scene.control.MenuItem("All Developers");
-        allDevelopersItem.setOnAction(e -> {
-            developper_filter.setText("Developper");
-            currentDeveloperFilter = null;
+        // Add "All Ratings" option
+        javafx.scene.control.MenuItem allRatingsItem = new javafx.scene.control.MenuItem("All Ratings");
+        allRatingsItem.setOnAction(e -> {
+            rating_filter.setText("Rating");
+            currentMinRating = null;
             applyFilters();
         });
-        developper_filter.getItems().add(allDevelopersItem);
+        rating_filter.getItems().add(allRatingsItem);
 
-        // Get all unique developers from the repository
-        List<String> developers = gameRepository.getAllDevelopers();
+        for (int threshold = HIGHEST_RATING_FILTER; threshold >= LOWEST_RATING_FILTER; threshold--) {
+            final double minRating = threshold;
+            String ratingText = threshold + "+";
 
-        // Add each developer as a menu item
-        for (String developer : developers) {
-            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(developer);
+            javafx.scene.control.MenuItem item = new javafx.scene.control.MenuItem(
+                    ratingText + " (" + counts[threshold] + ")");
             item.setOnAction(e -> {
-                developper_filter.setText(developer);
-                currentDeveloperFilter = developer;
+                rating_filter.setText(ratingText);
+                currentMinRating = minRating;
                 applyFilters();
             });
-            developper_filter.getItems().add(item);
+
+            rating_filter.getItems().add(item);
         }
     }
 
+    /**
+     * Sets up the publisher filter MenuButton with the publishers left by the other filters
+     */
+    private void setupPublisherFilter() {
+        populateFacetMenu(publisher_filter, Facet.PUBLISHER, "Publisher", "All Publishers", value -> currentPublisherFilter = value);
+    }
+
+    /**
+     * Sets up the developer filter MenuButton with the developers left by the other filters
+     */
+    private void setupDeveloperFilter() {
+        populateFacetMenu(developper_filter, Facet.DEVELOPER, "Developper", "All Developers", value -> currentDeveloperFilter = value);
+    }
+
     /**
      * Sets up the sort menu with title sorting options
      */
@@ -819,7 +891,7 @@ public class GameCatalogController
         javafx.scene.control.MenuItem defaultSortItem = new javafx.scene.control.MenuItem("Default");
         defaultSortItem.setOnAction(e -> {
             sort_menu.setText("Sort");
-            currentSort = null;
+            currentSort = GameSort.CATALOG;
             applyFilters();
         });
         sort_menu.getItems().add(defaultSortItem);
@@ -828,7 +900,7 @@ public class GameCatalogController
         javafx.scene.control.MenuItem titleAscItem = new javafx.scene.control.MenuItem("Title A-Z");
         titleAscItem.setOnAction(e -> {
             sort_menu.setText("Title A-Z");
-            currentSort = "title_asc";
+            currentSort = GameSort.TITLE_ASC;
             applyFilters();
         });
         sort_menu.getItems().add(titleAscItem);
@@ -837,7 +909,7 @@ public class GameCatalogController
         javafx.scene.control.MenuItem titleDescItem = new javafx.scene.control.MenuItem("Title Z-A");
         titleDescItem.setOnAction(e -> {
             sort_menu.setText("Title Z-A");
-            currentSort = "title_desc";
+            currentSort = GameSort.TITLE_DESC;
             applyFilters();
         });
         sort_menu.getItems().add(titleDescItem);
@@ -846,7 +918,7 @@ public class GameCatalogController
         javafx.scene.control.MenuItem yearAscItem = new javafx.scene.control.MenuItem("Year (Oldest-Newest)");
         yearAscItem.setOnAction(e -> {
             sort_menu.setText("Year (Oldest-Newest)");
-            currentSort = "year_asc";
+            currentSort = GameSort.YEAR_ASC;
             applyFilters();
         });
         sort_menu.getItems().add(yearAscItem);
@@ -855,7 +927,7 @@ public class GameCatalogController
         javafx.scene.control.MenuItem yearDescItem = new javafx.scene.control.MenuItem("Year (Newest-Oldest)");
         yearDescItem.setOnAction(e -> {
             sort_menu.setText("Year (Newest-Oldest)");
-            currentSort = "year_desc";
+            currentSort = GameSort.YEAR_DESC;
             applyFilters();
         });
         sort_menu.getItems().add(yearDescItem);
@@ -925,269 +997,448 @@ public class GameCatalogController
      * Applies all active filters to the game list
      */
     private void applyFilters() {
-        // Start with all games
-        filteredGamesList = gameRepository.getAllGames();
+        showingFavorites = false;
+        discardViewUpdates();
+        filterGames();
 
-        // Apply search term if active
-        if (currentSearchTerm != null && !currentSearchTerm.trim().isEmpty()) {
-            filteredGamesList = gameRepository.searchGamesByTitle(currentSearchTerm);
-        }
+        // Reset to page 1 when filters change
+        pageNumber = 1;
 
-        // Apply genre filter if active
-        if (currentGenreFilter != null && !currentGenreFilter.isEmpty()) {
-            // If search was already applied, we need to filter the search results
-            if (currentSearchTerm != null && !currentSearchTerm.trim().isEmpty()) {
-                List<Game> genreFilteredGames = new ArrayList<>();
-                for (Game game : filteredGamesList) {
-                    if (game.getGenres() != null && game.getGenres().contains(currentGenreFilter)) {
-                        genreFilteredGames.add(game);
-                    }
-                }
-                filteredGamesList = genreFilteredGames;
-            } else {
-                // No search was applied, use the repository method
-                filteredGamesList = gameRepository.getGamesByGenre(currentGenreFilter);
-            }
-        }
+        // Update the UI
+        render(currentResult, game_card_flow, pageNumber);
+        page_number.setText(String.valueOf(pageNumber));
+    }
 
-        // Apply platform filter if active
-        if (currentPlatformFilter != null && !currentPlatformFilter.isEmpty()) {
-            // We need to further filter the already filtered list
-            List<Game> platformFilteredGames = new ArrayList<>();
-            for (Game game : filteredGamesList) {
-                if (game.getPlatforms() != null && game.getPlatforms().contains(currentPlatformFilter)) {
-                    platformFilteredGames.add(game);
-                }
+    /**
+     * Recomputes the displayed view and the counts of the year and rating menus in the
+     * background. The new view replaces the displayed one and patches the current page,
+     * staying on it if it still exists, unless the user switched to another view in the
+     * meantime. Requests made while an earlier one is waiting replace it.
+     *
+     * @param view true to recompute the view
+     * @param menus true to recompute the year and rating menus
+     */
+    private void scheduleViewUpdate(boolean view, boolean menus) {
+        int request = view ? ++viewRequest : viewRequest;
+        int menuUpdate = menus ? ++menuRequest : menuRequest;
+        viewUpdatePending |= view;
+        boolean favorites = showingFavorites;
+        GameQuery query = currentQuery().withSort(currentSort);
+        viewUpdater.execute(() -> {
+            QueryResult result = null;
+            if (view && request == viewRequest) {
+                result = favorites
+                        ? QueryResult.of(favoritesRepository.getFavoriteGames(gameRepository.getSnapshot()))
+                        : gameRepository.query(query);
             }
-            filteredGamesList = platformFilteredGames;
-        }
-
-        // Apply tag filter if active
-        if (currentTagFilter != null && !currentTagFilter.isEmpty()) {
-            // We need to further filter the already filtered list
-            List<Game> tagFilteredGames = new ArrayList<>();
-            for (Game game : filteredGamesList) {
-                if (game.getTags() != null && game.getTags().contains(currentTagFilter)) {
-                    tagFilteredGames.add(game);
-                }
+            List<int[]> yearRanges = null;
+            int[] ratingCounts = null;
+            if (menus && menuUpdate == menuRequest) {
+                yearRanges = gameRepository.getReleaseYearHistogram(YEAR_FILTER_RANGES);
+                ratingCounts = countGamesByRatingFilter();
             }
-            filteredGamesList = tagFilteredGames;
-        }
-
-        // Apply publisher filter if active
-        if (currentPublisherFilter != null && !currentPublisherFilter.isEmpty()) {
-            // We need to further filter the already filtered list
-            List<Game> publisherFilteredGames = new ArrayList<>();
-            for (Game game : filteredGamesList) {
-                String publisher = game.getPublisher();
-                if (publisher != null && publisher.equals(currentPublisherFilter)) {
-                    publisherFilteredGames.add(game);
-                }
+            if (result == null && yearRanges == null) {
+                return;
             }
-            filteredGamesList = publisherFilteredGames;
-        }
 
-        // Apply developer filter if active
-        if (currentDeveloperFilter != null && !currentDeveloperFilter.isEmpty()) {
-            // We need to further filter the already filtered list
-            List<Game> developerFilteredGames = new ArrayList<>();
-            for (Game game : filteredGamesList) {
-                String developer = game.getDeveloper();
-                if (developer != null && developer.equals(currentDeveloperFilter)) {
-                    developerFilteredGames.add(game);
+            QueryResult newResult = result;
+            List<int[]> newYearRanges = yearRanges;
+            int[] newRatingCounts = ratingCounts;
+            Platform.runLater(() -> {
+                if (newYearRanges != null && menuUpdate == menuRequest) {
+                    populateReleaseYearFilter(newYearRanges);
+                    populateRatingFilter(newRatingCounts);
+                }
+                if (newResult != null && request == viewRequest) {
+                    viewUpdatePending = false;
+                    currentResult = newResult;
+                    maxPage = pageCount(currentResult);
+                    pageNumber = Math.min(pageNumber, maxPage);
+                    refreshCurrentPage();
+                    page_number.setText(String.valueOf(pageNumber));
                 }
+            });
+        });
+    }
+
+    /**
+     * Drops recomputed views still on their way, e.g. because the user chose another view
+     */
+    private void discardViewUpdates() {
+        viewRequest++;
+        viewUpdatePending = false;
+    }
+
+    /**
+     * Shows new versions of updated games. Their cards on the current page are rebound
+     * in place and the displayed view lists the new versions where the old ones were.
+     *
+     * @param previousGames the replaced instances
+     * @param games the new versions, in the same order
+     */
+    private void rebindCards(List<Game> previousGames, List<Game> games) {
+        currentResult = currentResult.replacing(previousGames, games);
+        int firstIndex = PAGE_SIZE * (pageNumber - 1);
+        if (visibleCards.size() < Math.min(PAGE_SIZE, currentResult.size() - firstIndex)) {
+            // A render is still adding cards, possibly of the old versions
+            refreshCurrentPage();
+            return;
+        }
+        for (int i = 0; i < games.size(); i++) {
+            Node card = visibleCards.remove(previousGames.get(i));
+            if (card != null) {
+                Game game = games.get(i);
+                Renderer.bindCard((GameCardView) card, game, ThumbnailAtlas.forCover(game.getCoverImagePath()), 0);
+                visibleCards.put(game, card);
             }
-            filteredGamesList = developerFilteredGames;
         }
+        // Cards prepared for the neighbouring pages show the old versions
+        prefetcher.prefetch(currentResult, pageNumber);
+    }
 
-        // Apply year range filter if active
-        if (currentYearRange != null) {
-            // We need to further filter the already filtered list
-            List<Game> yearFilteredGames = new ArrayList<>();
-            int startYear = currentYearRange[0];
-            int endYear = currentYearRange[1];
-
-            for (Game game : filteredGamesList) {
-                Integer releaseYear = game.getReleaseYear();
-                if (releaseYear != null && releaseYear >= startYear && releaseYear <= endYear) {
-                    yearFilteredGames.add(game);
-                }
+    /**
+     * Takes the cards of removed games off the current page. The page is filled up
+     * again once the view has been recomputed.
+     *
+     * @param removed the removed games
+     */
+    private void removeCards(List<Game> removed) {
+        for (Game game : removed) {
+            Node card = visibleCards.remove(game);
+            if (card != null) {
+                game_card_flow.getChildren().remove(card);
             }
-            filteredGamesList = yearFilteredGames;
         }
+    }
 
-        // Apply sorting if active
-        if (currentSort != null) {
-            if ("title_asc".equals(currentSort)) {
-                filteredGamesList = gameRepository.getGamesSortedByTitleAsc();
-
-                // We need to reapply any filters to the sorted list
-                applyFiltersToSortedList();
-            } else if ("title_desc".equals(currentSort)) {
-                filteredGamesList = gameRepository.getGamesSortedByTitleDesc();
-
-                // We need to reapply any filters to the sorted list
-                applyFiltersToSortedList();
-            } else if ("year_asc".equals(currentSort)) {
-                filteredGamesList = gameRepository.getGamesSortedByYearAsc();
-
-                // We need to reapply any filters to the sorted list
-                applyFiltersToSortedList();
-            } else if ("year_desc".equals(currentSort)) {
-                filteredGamesList = gameRepository.getGamesSortedByYearDesc();
-
-                // We need to reapply any filters to the sorted list
-                applyFiltersToSortedList();
+    /**
+     * Brings the cards of the current page in line with the current view. Cards of
+     * games that are still on the page are kept; only new or changed games get a
+     * new card.
+     */
+    private void refreshCurrentPage() {
+        // Cards still being added by a running render would duplicate the patched ones
+        renderGeneration++;
+
+        int firstIndex = PAGE_SIZE * (pageNumber - 1);
+        List<Game> games = currentResult.getRange(firstIndex, PAGE_SIZE);
+        Map<Game, Node> cards = new IdentityHashMap<>();
+        List<Node> nodes = new ArrayList<>(games.size());
+        ThumbnailAtlas atlas = null;
+        for (int i = 0; i < games.size(); i++) {
+            Game game = games.get(i);
+            Node card = visibleCards.get(game);
+            if (card == null) {
+                if (atlas == null) {
+                    atlas = Renderer.atlasFor(currentResult, pageNumber, games);
+                }
+                card = Renderer.createCard(game, atlas, i);
             }
+            cards.put(game, card);
+            nodes.add(card);
         }
+        visibleCards.clear();
+        visibleCards.putAll(cards);
+        game_card_flow.getChildren().setAll(nodes);
 
-        // Reset to page 1 when filters change
-        pageNumber = 1;
-
-        // Update the UI
-        render(filteredGamesList, game_card_flow, pageNumber);
-        page_number.setText(String.valueOf(pageNumber));
+        // Cards prepared for the neighbouring pages may show the old catalog
+        prefetcher.prefetch(currentResult, pageNumber);
     }
 
     /**
-     * Reapplies filters to the sorted list
+     * Runs the query for the active filters and sort order
      */
-    private void applyFiltersToSortedList() {
-        // Apply genre filter if active
-        if (currentGenreFilter != null && !currentGenreFilter.isEmpty()) {
-            filteredGamesList.removeIf(game ->
-                    game.getGenres() == null || !game.getGenres().contains(currentGenreFilter));
-        }
+    private void filterGames() {
+        currentResult = gameRepository.query(currentQuery().withSort(currentSort));
+    }
 
-        // Apply platform filter if active
-        if (currentPlatformFilter != null && !currentPlatformFilter.isEmpty()) {
-            filteredGamesList.removeIf(game ->
-                    game.getPlatforms() == null || !game.getPlatforms().contains(currentPlatformFilter));
+    /**
+     * Builds the query for the search term and every active filter
+     *
+     * @return the current query
+     */
+    private GameQuery currentQuery() {
+        GameQuery query = GameQuery.ALL
+                .withSearchTerm(currentSearchTerm)
+                .with(Facet.GENRE, currentGenreFilter)
+                .with(Facet.PLATFORM, currentPlatformFilter)
+                .with(Facet.TAG, currentTagFilter)
+                .with(Facet.PUBLISHER, currentPublisherFilter)
+                .with(Facet.DEVELOPER, currentDeveloperFilter)
+                .withMinRating(currentMinRating);
+        if (currentYearRange != null) {
+            query = query.withYearRange(currentYearRange[0], currentYearRange[1]);
         }
+        return query;
+    }
 
-        // Apply tag filter if active
-        if (currentTagFilter != null && !currentTagFilter.isEmpty()) {
-            filteredGamesList.removeIf(game ->
-                    game.getTags() == null || !game.getTags().contains(currentTagFilter));
+    /**
+     * Applies one repository change to the displayed view. Cards of updated games are
+     * rebound in place and cards of removed games are taken off the page right away.
+     * Which games the view holds and the counts of the year and rating menus are then
+     * recomputed in the background, so no index is built on the FX thread; an update
+     * alone leaves the view as it is. A reset recomputes everything.
+     *
+     * @param change the change published by the repository
+     */
+    private void applyCatalogChange(CatalogChange change) {
+        CatalogChange.Type type = change.getType();
+        if (type == CatalogChange.Type.RESET) {
+            updateLoadingStatus();
+            updateStorageItems();
+            scheduleViewUpdate(true, true);
+            return;
         }
 
-        // Apply publisher filter if active
-        if (currentPublisherFilter != null && !currentPublisherFilter.isEmpty()) {
-            filteredGamesList.removeIf(game -> {
-                String publisher = game.getPublisher();
-                return publisher == null || !publisher.equals(currentPublisherFilter);
-            });
+        if (type == CatalogChange.Type.UPDATED) {
+            rebindCards(change.getPreviousGames(), change.getGames());
+        } else if (type == CatalogChange.Type.REMOVED) {
+            removeCards(change.getGames());
         }
 
-        // Apply developer filter if active
-        if (currentDeveloperFilter != null && !currentDeveloperFilter.isEmpty()) {
-            filteredGamesList.removeIf(game -> {
-                String developer = game.getDeveloper();
-                return developer == null || !developer.equals(currentDeveloperFilter);
-            });
+        if (gameRepository.isLoading()) {
+            // Menus and page counts are filled in once loading finishes; until then the
+            // view is only recomputed while the first page is not full
+            updateLoadingStatus();
+            if (type == CatalogChange.Type.ADDED && visibleCards.size() < PAGE_SIZE) {
+                scheduleViewUpdate(true, false);
+            }
+            return;
         }
 
-        // Apply year range filter if active
-        if (currentYearRange != null) {
-            int startYear = currentYearRange[0];
-            int endYear = currentYearRange[1];
+        // A view recomputed from an older snapshot would bring back the old versions
+        boolean view = type != CatalogChange.Type.UPDATED || viewUpdatePending;
+        scheduleViewUpdate(view, true);
+    }
 
-            filteredGamesList.removeIf(game -> {
-                Integer releaseYear = game.getReleaseYear();
-                return releaseYear == null || releaseYear < startYear || releaseYear > endYear;
-            });
-        }
+    /**
+     * Shows the loading indicator and the number of games loaded so far while the
+     * catalog file is being read, and hides them afterwards
+     */
+    private void updateLoadingStatus() {
+        boolean loading = gameRepository.isLoading();
+        loading_indicator.setVisible(loading);
+        loading_label.setVisible(loading);
+        loading_label.setText(String.format("Loading catalog... %,d games", gameRepository.getGameCount()));
     }
 
     /**
-     * Handles importing a JSON file to replace the current games_all.json file.
-     * Opens a file chooser dialog for the user to select a JSON file, then
-     * copies it to the data folder as games_all.json and refreshes the game list.
+     * Handles importing a JSON file into the catalog.
+     * Opens a file chooser dialog for the user to select a JSON file, then merges its
+     * games into the catalog by key on a background thread and saves games_all.json.
      */
     private void handleImportJSON() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Import JSON File");
         fileChooser.getExtensionFilters().add(
-                new FileChooser.ExtensionFilter("JSON Files", "*.json")
+                new FileChooser.ExtensionFilter("JSON Files", "*.json", "*.json.gz", "*.ndjson", "*.ndjson.gz")
         );
 
         File selectedFile = fileChooser.showOpenDialog(stage);
         if (selectedFile != null) {
-            try {
-                // Make sure the data directory exists
-                File dataDir = new File("data");
-                if (!dataDir.exists()) {
-                    dataDir.mkdirs();
-                }
+            // Make sure the data directory exists
+            File dataDir = new File("data");
+            if (!dataDir.exists()) {
+                dataDir.mkdirs();
+            }
 
-                // Copy the selected file to the data directory
-                Path source = selectedFile.toPath();
-                Path target = Paths.get("data/games_all.json");
-                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            // Stream the file into the catalog in the background; cards appear
+            // through the repository's change stream as batches are merged
+            Path source = selectedFile.toPath();
+            CatalogImporter importer = new CatalogImporter(gameRepository);
+            Task<CatalogImporter.Result> importTask = new Task<>() {
+                @Override
+                protected CatalogImporter.Result call() throws Exception {
+                    long startNanos = System.nanoTime();
+                    updateMessage("Reading " + source.getFileName() + "...");
+                    CatalogImporter.Result result = importer.importFile(source, (bytesRead, totalBytes, recordsRead) -> {
+                        double seconds = (System.nanoTime() - startNanos) / 1e9;
+                        updateProgress(bytesRead, totalBytes);
+                        updateMessage(String.format("%,d games read (%,.0f games/s)",
+                                recordsRead, seconds > 0 ? recordsRead / seconds : 0));
+                    }, this::isCancelled);
+                    if (result.isSaveFailed()) {
+                        // A cancelled task drops its result, so report the failed save from here
+                        Platform.runLater(() -> {
+                            Alert alert = new Alert(AlertType.ERROR);
+                            alert.setTitle("Error");
+                            alert.setHeaderText("Failed to save Catalog");
+                            alert.setContentText("Changes made while the import was running could not be saved.");
+                            alert.showAndWait();
+                        });
+                    }
+                    return result;
+                }
+            };
 
+            importTask.setOnSucceeded(e -> {
+                CatalogImporter.Result result = importTask.getValue();
                 // Show success message
                 Alert alert = new Alert(AlertType.INFORMATION);
                 alert.setTitle("Import Successful");
                 alert.setHeaderText(null);
-                alert.setContentText("JSON file successfully imported!");
+                String summary = String.format("JSON file successfully imported!%n%d added, %d updated, %d skipped as invalid.",
+                        result.getAdded(), result.getUpdated(), result.getRejected());
+                if (!result.getPossibleDuplicates().isEmpty()) {
+                    summary += String.format("%n%d imported games look like games already in your catalog."
+                            + " Use File > Find Duplicates to review them.", result.getPossibleDuplicates().size());
+                }
+                alert.setContentText(summary);
                 alert.showAndWait();
-
-                // Force a refresh of the game list
-                forceRefreshGameList();
-            } catch (IOException e) {
+            });
+            importTask.setOnCancelled(e -> {
+                Alert alert = new Alert(AlertType.INFORMATION);
+                alert.setTitle("Import Cancelled");
+                alert.setHeaderText(null);
+                alert.setContentText("The import was cancelled and the catalog was left unchanged.");
+                alert.showAndWait();
+            });
+            importTask.setOnFailed(e -> {
                 // Show error message if the import fails
+                Throwable error = importTask.getException();
                 Alert alert = new Alert(AlertType.ERROR);
                 alert.setTitle("Import Failed");
                 alert.setHeaderText(null);
-                alert.setContentText("Failed to import JSON file: " + e.getMessage());
+                alert.setContentText("Failed to import JSON file: " + error.getMessage());
                 alert.showAndWait();
-                e.printStackTrace();
-            }
+                error.printStackTrace();
+            });
+
+            ProgressDialog.show(stage, "Importing " + selectedFile.getName(), importTask);
+            Thread importThread = new Thread(importTask, "catalog-import");
+            importThread.setDaemon(true);
+            importThread.start();
         }
     }
 
     /**
-     * Handles exporting the games_all.json file to a location selected by the user.
-     * Opens a file chooser dialog for the user to select where to save the file.
+     * Handles exporting the games currently shown to a location selected by the user.
+     * Opens a file chooser dialog for the user to select where to save the file; a name
+     * ending in .gz produces a compressed file. The export runs on a background thread.
      */
     private void handleExportJSON() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Export JSON File");
         fileChooser.setInitialFileName("games_all.json");
-        fileChooser.getExtensionFilters().add(
-                new FileChooser.ExtensionFilter("JSON Files", "*.json")
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON Files", "*.json"),
+                new FileChooser.ExtensionFilter("Compressed JSON Files", "*.json.gz"),
+                new FileChooser.ExtensionFilter("NDJSON Files", "*.ndjson", "*.ndjson.gz")
         );
 
         File selectedFile = fileChooser.showSaveDialog(stage);
         if (selectedFile != null) {
-            try {
-                // Source file path
-                Path source = Paths.get("data/games_all.json");
-
-                // Make sure the source file exists
-                if (!Files.exists(source)) {
-                    throw new IOException("Source file games_all.json not found in data directory.");
+            // Export what the user is looking at: the filtered, sorted view or the favorites
+            QueryResult view = currentResult;
+            Path target = selectedFile.toPath();
+            Task<Boolean> exportTask = new Task<>() {
+                @Override
+                protected Boolean call() throws Exception {
+                    updateMessage("Writing " + target.getFileName() + "...");
+                    return CatalogExporter.export(view, target, (gamesWritten, totalGames) -> {
+                        updateProgress(gamesWritten, totalGames);
+                        updateMessage(String.format("%,d of %,d games written", gamesWritten, totalGames));
+                    }, this::isCancelled);
                 }
+            };
 
-                // Copy to the selected destination
-                Path target = selectedFile.toPath();
-                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-
+            exportTask.setOnSucceeded(e -> {
                 // Show success message
                 Alert alert = new Alert(AlertType.INFORMATION);
                 alert.setTitle("Export Successful");
                 alert.setHeaderText(null);
-                alert.setContentText("JSON file successfully exported to: " + selectedFile.getAbsolutePath());
+                alert.setContentText(view.size() + " games successfully exported to: " + selectedFile.getAbsolutePath());
                 alert.showAndWait();
-            } catch (IOException e) {
+            });
+            exportTask.setOnFailed(e -> {
                 // Show error message if the export fails
+                Throwable error = exportTask.getException();
                 Alert alert = new Alert(AlertType.ERROR);
                 alert.setTitle("Export Failed");
                 alert.setHeaderText(null);
-                alert.setContentText("Failed to export JSON file: " + e.getMessage());
+                alert.setContentText("Failed to export JSON file: " + error.getMessage());
                 alert.showAndWait();
-                e.printStackTrace();
+                error.printStackTrace();
+            });
+
+            ProgressDialog.show(stage, "Exporting " + selectedFile.getName(), exportTask);
+            Thread exportThread = new Thread(exportTask, "catalog-export");
+            exportThread.setDaemon(true);
+            exportThread.start();
+        }
+    }
+
+    /**
+     * Searches the whole catalog for groups of likely duplicate games on a background
+     * thread and shows the groups that were found.
+     */
+    private void handleFindDuplicates() {
+        Task<List<List<Game>>> duplicatesTask = new Task<>() {
+            @Override
+            protected List<List<Game>> call() {
+                updateMessage("Comparing " + gameRepository.getGameCount() + " games...");
+                return gameRepository.findDuplicateClusters(this::isCancelled);
             }
+        };
+        duplicatesTask.setOnSucceeded(e -> showDuplicateClusters(duplicatesTask.getValue()));
+        duplicatesTask.setOnFailed(e -> {
+            Throwable error = duplicatesTask.getException();
+            Alert alert = new Alert(AlertType.ERROR);
+            alert.setTitle("Find Duplicates Failed");
+            alert.setHeaderText(null);
+            alert.setContentText("Failed to search for duplicates: " + error.getMessage());
+            alert.showAndWait();
+            error.printStackTrace();
+        });
+
+        ProgressDialog.show(stage, "Finding Duplicates", duplicatesTask);
+        Thread duplicatesThread = new Thread(duplicatesTask, "catalog-duplicates");
+        duplicatesThread.setDaemon(true);
+        duplicatesThread.start();
+    }
+
+    /**
+     * Lists groups of likely duplicates and offers to show them in the catalog view.
+     *
+     * @param clusters the groups of similar games, largest first
+     */
+    private void showDuplicateClusters(List<List<Game>> clusters) {
+        if (clusters.isEmpty()) {
+            Alert alert = new Alert(AlertType.INFORMATION);
+            alert.setTitle("Duplicate Games");
+            alert.setHeaderText(null);
+            alert.setContentText("No likely duplicates were found in your catalog.");
+            alert.showAndWait();
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (List<Game> cluster : clusters.subList(0, Math.min(clusters.size(), MAX_LISTED_DUPLICATE_GROUPS))) {
+            for (Game game : cluster) {
+                sb.append(game.getTitle()).append(" \u2014 ").append(game.getDeveloper())
+                        .append(" / ").append(game.getPublisher()).append('\n');
+            }
+            sb.append('\n');
+        }
+        TextArea groupsArea = new TextArea(sb.toString());
+        groupsArea.setEditable(false);
+        groupsArea.setPrefSize(520, 360);
+
+        ButtonType showInCatalog = new ButtonType("Show in Catalog");
+        Alert alert = new Alert(AlertType.INFORMATION, "", showInCatalog, ButtonType.CLOSE);
+        alert.setTitle("Duplicate Games");
+        alert.setHeaderText(clusters.size() + " groups of likely duplicates found");
+        alert.getDialogPane().setContent(groupsArea);
+        if (alert.showAndWait().filter(response -> response == showInCatalog).isPresent()) {
+            // Show the groups one after another so duplicates sit next to each other
+            showingFavorites = false;
+            List<Game> grouped = new ArrayList<>();
+            clusters.forEach(grouped::addAll);
+            discardViewUpdates();
+            currentResult = QueryResult.of(grouped);
+            pageNumber = 1;
+            render(currentResult, game_card_flow, pageNumber);
+            page_number.setText(String.valueOf(pageNumber));
         }
     }
 
@@ -1206,7 +1457,53 @@ public class GameCatalogController
         MenuItem exportJSON = new MenuItem("Export JSON File");
         exportJSON.setOnAction(e -> handleExportJSON());
 
+        // Create compressed storage toggle
+        compressCatalog = new CheckMenuItem("Compress Catalog File");
+        compressCatalog.setOnAction(e -> {
+            if (!gameRepository.setCompressedStorage(compressCatalog.isSelected())) {
+                compressCatalog.setSelected(gameRepository.isCompressedStorage());
+                Alert alert = new Alert(AlertType.ERROR);
+                alert.setTitle("Save Failed");
+                alert.setHeaderText(null);
+                alert.setContentText("Failed to save the catalog in the selected format.");
+                alert.showAndWait();
+            }
+        });
+
+        // Create NDJSON storage toggle
+        ndjsonCatalog = new CheckMenuItem("Store Catalog as NDJSON");
+        ndjsonCatalog.setOnAction(e -> {
+            CatalogFormat format = ndjsonCatalog.isSelected() ? CatalogFormat.NDJSON : CatalogFormat.JSON_ARRAY;
+            if (!gameRepository.setStorageFormat(format)) {
+                ndjsonCatalog.setSelected(gameRepository.getStorageFormat() == CatalogFormat.NDJSON);
+                Alert alert = new Alert(AlertType.ERROR);
+                alert.setTitle("Save Failed");
+                alert.setHeaderText(null);
+                alert.setContentText("Failed to save the catalog in the selected format.");
+                alert.showAndWait();
+            }
+        });
+
+        // Create duplicate search menu item
+        MenuItem findDuplicates = new MenuItem("Find Duplicates");
+        findDuplicates.setOnAction(e -> handleFindDuplicates());
+
         // Add items to the menu
-        file_menu.getItems().addAll(importJSON, exportJSON);
+        file_menu.getItems().addAll(importJSON, exportJSON, findDuplicates, new SeparatorMenuItem(),
+                compressCatalog, ndjsonCatalog);
+        updateStorageItems();
+    }
+
+    /**
+     * Shows the storage format of the catalog file in the file menu. The format can
+     * only be changed once the catalog has been loaded, so the complete catalog is
+     * what gets written.
+     */
+    private void updateStorageItems() {
+        boolean loading = gameRepository.isLoading();
+        compressCatalog.setSelected(gameRepository.isCompressedStorage());
+        compressCatalog.setDisable(loading);
+        ndjsonCatalog.setSelected(gameRepository.getStorageFormat() == CatalogFormat.NDJSON);
+        ndjsonCatalog.setDisable(loading);
     }
 }
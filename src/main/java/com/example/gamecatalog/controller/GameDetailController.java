@@ -0,0 +1,120 @@
+package com.example.gamecatalog.controller;
+
+import com.example.gamecatalog.model.Game;
+import com.example.gamecatalog.util.DescriptionStore;
+import com.example.gamecatalog.util.ImageCache;
+
+import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextArea;
+import javafx.scene.image.ImageView;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controller for the game details window.
+ * Like the Add Game form, the view is loaded once and its window is reused, see
+ * {@link #showDetails(Game)}. The cover comes from the {@link ImageCache} and the
+ * description from the {@link DescriptionStore}, both usually warm by the time the
+ * card is double-clicked, and everything is filled in before the window is shown.
+ */
+public class GameDetailController {
+    // The loaded view, reused while the application runs (FX thread only)
+    private static GameDetailController sharedView;
+
+    @FXML private ImageView coverImage;
+    @FXML private Label titleLabel;
+    @FXML private Label studioLabel;
+    @FXML private Label releaseLabel;
+    @FXML private Label genresLabel;
+    @FXML private Label platformsLabel;
+    @FXML private Label ratingLabel;
+    @FXML private Label tagsLabel;
+    @FXML private TextArea descriptionArea;
+    @FXML private Button closeButton;
+
+    private Stage stage;
+
+    /**
+     * Opens the details of a game and waits until the window is closed.
+     *
+     * @param game the game to show
+     * @throws IOException if the view cannot be loaded
+     */
+    public static void showDetails(Game game) throws IOException {
+        GameDetailController view = getSharedView();
+        view.setGame(game);
+        view.stage.showAndWait();
+    }
+
+    /**
+     * Returns the view, loading it and creating its window on first use.
+     *
+     * @return the controller of the view
+     * @throws IOException if the view cannot be loaded
+     */
+    private static GameDetailController getSharedView() throws IOException {
+        if (sharedView == null) {
+            FXMLLoader loader = new FXMLLoader(GameDetailController.class.getResource("/fxml/game-detail-view.fxml"));
+            Parent root = loader.load();
+
+            Stage viewStage = new Stage();
+            viewStage.initModality(Modality.APPLICATION_MODAL);
+            viewStage.initStyle(StageStyle.UNDECORATED);
+            viewStage.setScene(new Scene(root));
+
+            GameDetailController controller = loader.getController();
+            controller.stage = viewStage;
+            sharedView = controller;
+        }
+        return sharedView;
+    }
+
+    /**
+     * Fills the view with a game.
+     *
+     * @param game the game to show
+     */
+    private void setGame(Game game) {
+        coverImage.setImage(ImageCache.getInstance().getCover(game.getCoverImagePath()));
+        titleLabel.setText(game.getTitle());
+        studioLabel.setText(orUnknown(game.getDeveloper()) + " / " + orUnknown(game.getPublisher()));
+        releaseLabel.setText((game.getReleaseYear() != null ? game.getReleaseYear().toString() : "Unknown year")
+                + " / " + orUnknown(game.getLanguage()));
+        genresLabel.setText("Genres: " + joinOrNone(game.getGenres()));
+        platformsLabel.setText("Platforms: " + joinOrNone(game.getPlatforms()));
+        ratingLabel.setText("Rating: " + (game.getRating() != null ? game.getRating().toString() : "-"));
+        tagsLabel.setText("Tags: " + joinOrNone(game.getTags()));
+
+        String description = DescriptionStore.getInstance().getDescription(game.getDescriptionPath());
+        descriptionArea.setText(description != null ? description : "No description available.");
+        descriptionArea.positionCaret(0);
+        descriptionArea.setScrollTop(0);
+    }
+
+    private static String orUnknown(String value) {
+        return value != null && !value.isEmpty() ? value : "Unknown";
+    }
+
+    private static String joinOrNone(List<String> values) {
+        return values != null && !values.isEmpty() ? String.join(", ", values) : "-";
+    }
+
+    /**
+     * Handles the Close button click.
+     */
+    @FXML
+    private void handleClose() {
+        // Drop the text, so it is only held by the store's bounded cache
+        descriptionArea.clear();
+        stage.close();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.gamecatalog.controller;
+
+import com.example.gamecatalog.model.Game;
+import com.example.gamecatalog.repository.QueryResult;
+
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Prepares the pages around the one being viewed, so paging feels instant.
+ * While page N of a view is shown, a background thread resolves the pages within the
+ * budget around it, nearest first, and builds their cards, which decodes their covers
+ * into the image cache and packs them into the page's thumbnail atlas. The cards are
+ * not attached to any scene until the page is shown. Prepared pages belong to one
+ * view; asking for pages of another view drops them.
+ */
+public class PagePrefetcher {
+    private final int pageSize;
+    private final int pagesAround;
+    private final CardFactory cardFactory;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "page-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this
+    private QueryResult result;
+    private final Map<Integer, PreparedPage> pages = new HashMap<>();
+    private Future<?> pending;
+    // Incremented by every prefetch, so a superseded one stops after its current page
+    private long request;
+
+    /**
+     * Builds the cards of a page.
+     */
+    public interface CardFactory {
+        /**
+         * Builds the cards of a page.
+         *
+         * @param view the view the page belongs to
+         * @param page the page number, starting at 1
+         * @param games the games on the page
+         * @return the cards, in page order
+         */
+        List<Node> createCards(QueryResult view, int page, List<Game> games);
+    }
+
+    /**
+     * Cards built for one page, in page order.
+     */
+    public static final class PreparedPage {
+        private final List<Game> games;
+        private final List<Node> cards;
+
+        PreparedPage(List<Game> games, List<Node> cards) {
+            this.games = games;
+            this.cards = cards;
+        }
+
+        public List<Game> getGames() {
+            return games;
+        }
+
+        public List<Node> getCards() {
+            return cards;
+        }
+    }
+
+    /**
+     * Creates a prefetcher.
+     *
+     * @param pageSize the number of games on a page
+     * @param pagesAround how many pages before and after the viewed one are prepared
+     * @param cardFactory builds the cards of a page
+     */
+    public PagePrefetcher(int pageSize, int pagesAround, CardFactory cardFactory) {
+        this.pageSize = pageSize;
+        this.pagesAround = pagesAround;
+        this.cardFactory = cardFactory;
+    }
+
+    /**
+     * Takes the prepared cards of a page, if they are ready.
+     *
+     * @param view the view being shown
+     * @param page the page number, starting at 1
+     * @return the prepared page, or null if it has to be built now
+     */
+    public synchronized PreparedPage take(QueryResult view, int page) {
+        return view == result ? pages.remove(page) : null;
+    }
+
+    /**
+     * Starts preparing the pages around the one being viewed, replacing any earlier
+     * request. Pages outside the budget are dropped.
+     *
+     * @param view the view being shown
+     * @param page the page being shown, starting at 1
+     */
+    public synchronized void prefetch(QueryResult view, int page) {
+        if (view != result) {
+            result = view;
+            pages.clear();
+        }
+        pages.keySet().removeIf(p -> Math.abs(p - page) > pagesAround);
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        long id = ++request;
+
+        int pageCount = (view.size() + pageSize - 1) / pageSize;
+        List<Integer> wanted = new ArrayList<>();
+        for (int distance = 1; distance <= pagesAround; distance++) {
+            for (int candidate : new int[] {page + distance, page - distance}) {
+                if (candidate >= 1 && candidate <= pageCount && !pages.containsKey(candidate)) {
+                    wanted.add(candidate);
+                }
+            }
+        }
+        if (!wanted.isEmpty()) {
+            pending = executor.submit(() -> prepare(view, wanted, id));
+        }
+    }
+
+    private void prepare(QueryResult view, List<Integer> wanted, long id) {
+        for (int page : wanted) {
+            synchronized (this) {
+                if (id != request) {
+                    return;
+                }
+            }
+
+            List<Game> games = view.getRange(pageSize * (page - 1), pageSize);
+            List<Node> cards = cardFactory.createCards(view, page, games);
+
+            synchronized (this) {
+                if (view == result) {
+                    pages.put(page, new PreparedPage(games, cards));
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.gamecatalog.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class Game {
     private String title;
@@ -158,4 +159,18 @@ public class Game {
     public void setDescriptionPath(String descriptionPath) {
         this.descrptionPath = descriptionPath;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a key identifying this game independently of its position in the catalog.
+     * Built from the title, developer and publisher, compared case-insensitively.
+     *
+     * @return the identity key of this game
+     */
+    public String getKey() {
+        return normalizeKeyPart(title) + "|" + normalizeKeyPart(developer) + "|" + normalizeKeyPart(publisher);
+    }
+
+    private static String normalizeKeyPart(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A change published by {@link GameRepository} after a write.
+ * For {@link Type#UPDATED} changes, {@link #getPreviousGames()} holds the replaced
+ * instances in the same order as {@link #getGames()}.
+ */
+public final class CatalogChange {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        /** Games were added to the catalog. */
+        ADDED,
+        /** Existing games were replaced by new versions. */
+        UPDATED,
+        /** Games were removed from the catalog. */
+        REMOVED,
+        /** The whole catalog was replaced, e.g. after a reload. */
+        RESET
+    }
+
+    private final Type type;
+    private final List<Game> games;
+    private final List<Game> previousGames;
+    private final long version;
+
+    CatalogChange(Type type, List<Game> games, List<Game> previousGames, long version) {
+        this.type = type;
+        this.games = Collections.unmodifiableList(games);
+        this.previousGames = Collections.unmodifiableList(previousGames);
+        this.version = version;
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return the change type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the games affected by the change. For removals these are the removed
+     * instances, for updates the new versions. Empty for resets.
+     *
+     * @return the affected games
+     */
+    public List<Game> getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the instances replaced by an update. Empty for other change types.
+     *
+     * @return the previous versions of the updated games
+     */
+    public List<Game> getPreviousGames() {
+        return previousGames;
+    }
+
+    /**
+     * Returns the snapshot version that contains this change.
+     *
+     * @return the repository version after the change
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + games.size() + " game(s) at version " + version;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.gamecatalog.repository;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Detects GZIP-compressed catalog data by its magic bytes, independent of the file name.
+ */
+final class CatalogCompression {
+    // First two bytes of every GZIP member (RFC 1952)
+    private static final int GZIP_MAGIC_1 = 0x1f;
+    private static final int GZIP_MAGIC_2 = 0x8b;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CatalogCompression() {
+    }
+
+    /**
+     * Checks whether the data starts with the GZIP magic bytes.
+     *
+     * @param data the raw file content
+     * @return true if the data is GZIP-compressed
+     */
+    static boolean isGzip(byte[] data) {
+        return data.length >= 2 && (data[0] & 0xff) == GZIP_MAGIC_1 && (data[1] & 0xff) == GZIP_MAGIC_2;
+    }
+
+    /**
+     * Wraps a stream so that GZIP-compressed content is decompressed while it is read.
+     * Uncompressed content is passed through unchanged.
+     *
+     * @param in the raw stream
+     * @return a stream of the uncompressed content
+     * @throws IOException if the stream cannot be read
+     */
+    static InputStream decompressing(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        boolean gzip = buffered.read() == GZIP_MAGIC_1 && buffered.read() == GZIP_MAGIC_2;
+        buffered.reset();
+        return gzip ? new GZIPInputStream(buffered, BUFFER_SIZE) : buffered;
+    }
+}
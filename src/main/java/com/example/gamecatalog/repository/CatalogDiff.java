@@ -0,0 +1,90 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Record-level difference between two versions of the catalog.
+ * Games are matched by {@link Game#getKey()}; a game whose key is unchanged but whose
+ * content differs is reported as updated.
+ */
+public final class CatalogDiff {
+    private final List<Game> added;
+    private final List<Game> updated;
+    private final List<Game> removed;
+    // The versions the updated games replaced, if known
+    private final List<Game> replaced;
+
+    CatalogDiff(List<Game> added, List<Game> updated, List<Game> removed) {
+        this(added, updated, removed, Collections.emptyList());
+    }
+
+    CatalogDiff(List<Game> added, List<Game> updated, List<Game> removed, List<Game> replaced) {
+        this.added = Collections.unmodifiableList(added);
+        this.updated = Collections.unmodifiableList(updated);
+        this.removed = Collections.unmodifiableList(removed);
+        this.replaced = Collections.unmodifiableList(replaced);
+    }
+
+    /**
+     * Returns a diff without any changes.
+     *
+     * @return an empty diff
+     */
+    static CatalogDiff empty() {
+        return new CatalogDiff(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Returns the games that were not in the catalog before.
+     *
+     * @return the added games
+     */
+    public List<Game> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the new versions of games whose content changed.
+     *
+     * @return the updated games
+     */
+    public List<Game> getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Returns the instances the updated games replaced, in the same order, for writes
+     * that may have to be undone. Empty for diffs between two files.
+     *
+     * @return the replaced games
+     */
+    List<Game> getReplaced() {
+        return replaced;
+    }
+
+    /**
+     * Returns the games that are no longer in the catalog.
+     *
+     * @return the removed games
+     */
+    public List<Game> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Checks whether the diff contains any change.
+     *
+     * @return true if nothing was added, updated or removed
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return added.size() + " added, " + updated.size() + " updated, " + removed.size() + " removed";
+    }
+}
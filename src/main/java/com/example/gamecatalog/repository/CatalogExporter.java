@@ -0,0 +1,106 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a query result, e.g. the current filtered view, to a JSON or NDJSON file.
+ * Games are taken from the result one window at a time and serialized and written one
+ * at a time, optionally through GZIP, so the export never holds more than a window of
+ * games and a single serialized game. The file is written to a temporary sibling and
+ * moved into place only when the export completes.
+ */
+public final class CatalogExporter {
+    private static final Logger LOGGER = Logger.getLogger(CatalogExporter.class.getName());
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Games between two progress reports
+    private static final int PROGRESS_INTERVAL = 256;
+    // Games taken from the result at a time
+    private static final int WINDOW_SIZE = 4096;
+
+    private CatalogExporter() {
+    }
+
+    /**
+     * Listener notified while an export is running. Called on the exporting thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Reports progress of the export.
+         *
+         * @param gamesWritten the number of games written so far
+         * @param totalGames the number of games to export
+         */
+        void onProgress(int gamesWritten, int totalGames);
+    }
+
+    /**
+     * Checks whether a target file name asks for a compressed export.
+     *
+     * @param target the export target
+     * @return true if the file name ends with .gz
+     */
+    public static boolean isCompressed(Path target) {
+        return target.getFileName().toString().toLowerCase().endsWith(GZIP_EXTENSION);
+    }
+
+    /**
+     * Exports games to a file. The output is NDJSON if the file name ends with .ndjson or
+     * .jsonl, a JSON array otherwise, and GZIP-compressed if the name ends with .gz.
+     *
+     * @param games the result to export, in output order
+     * @param target the file to write
+     * @param listener receives progress reports, may be null
+     * @param cancelled checked between games; the target is left untouched once it returns true
+     * @return true if the export completed, false if it was cancelled
+     * @throws IOException if the file cannot be written
+     */
+    public static boolean export(QueryResult games, Path target, ProgressListener listener,
+                                 BooleanSupplier cancelled) throws IOException {
+        int total = games.size();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        boolean completed = false;
+        try {
+            OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE);
+            if (isCompressed(target)) {
+                out = new GZIPOutputStream(out, BUFFER_SIZE);
+            }
+            try (GameJsonStreamWriter writer = new GameJsonStreamWriter(out, CatalogFormat.fromFileName(target))) {
+                for (int offset = 0; offset < total; offset += WINDOW_SIZE) {
+                    for (Game game : games.getRange(offset, WINDOW_SIZE)) {
+                        if (cancelled.getAsBoolean()) {
+                            return false;
+                        }
+                        writer.writeGame(game);
+                        if (listener != null && writer.getCount() % PROGRESS_INTERVAL == 0) {
+                            listener.onProgress(writer.getCount(), total);
+                        }
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        if (listener != null) {
+            listener.onProgress(total, total);
+        }
+        LOGGER.info("Exported " + total + " games to " + target);
+        return true;
+    }
+}
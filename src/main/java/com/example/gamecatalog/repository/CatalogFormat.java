@@ -0,0 +1,93 @@
+package com.example.gamecatalog.repository;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Layouts in which a catalog can be stored.
+ */
+public enum CatalogFormat {
+    /** One indented JSON array holding all games, as written by earlier versions. */
+    JSON_ARRAY(".json"),
+    /**
+     * Newline-delimited JSON: one compact game object per line. Games can be appended
+     * without rewriting the file and the file can be split on line breaks.
+     */
+    NDJSON(".ndjson");
+
+    // Leading whitespace examined when detecting the format of a stream
+    private static final int DETECT_LIMIT = 4096;
+
+    private final String extension;
+
+    CatalogFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the file name extension of this format.
+     *
+     * @return the extension, including the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Guesses the format from a file name; .ndjson and .jsonl files (optionally
+     * followed by .gz) are NDJSON, anything else is a JSON array.
+     *
+     * @param path the file
+     * @return the format suggested by the file name
+     */
+    public static CatalogFormat fromFileName(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        return name.endsWith(NDJSON.extension) || name.endsWith(".jsonl") ? NDJSON : JSON_ARRAY;
+    }
+
+    /**
+     * Detects the format of uncompressed catalog content: an array starts with '[',
+     * NDJSON with the '{' of its first game.
+     *
+     * @param data the content
+     * @return the detected format; empty content counts as a JSON array
+     */
+    static CatalogFormat detect(byte[] data) {
+        for (byte b : data) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{' ? NDJSON : JSON_ARRAY;
+            }
+        }
+        return JSON_ARRAY;
+    }
+
+    /**
+     * Detects the format of uncompressed catalog content without consuming it.
+     *
+     * @param in the content; must support mark and reset
+     * @return the detected format; empty content counts as a JSON array
+     * @throws IOException if the stream cannot be read
+     */
+    static CatalogFormat detect(BufferedInputStream in) throws IOException {
+        in.mark(DETECT_LIMIT);
+        try {
+            for (int i = 0; i < DETECT_LIMIT; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    break;
+                }
+                if (!Character.isWhitespace(b)) {
+                    return b == '{' ? NDJSON : JSON_ARRAY;
+                }
+            }
+            return JSON_ARRAY;
+        } finally {
+            in.reset();
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Imports games from a JSON file, plain or GZIP-compressed, into a {@link GameRepository}.
+ * The file is streamed record by record, so its size is not limited by memory. Each
+ * record is validated and normalized, then merged into the live catalog by key in
+ * batches. The catalog file is written once, atomically, when the import completes,
+ * and saves requested by others meanwhile wait until then. A cancelled or failed
+ * import undoes its own writes only, so edits made during the import are kept.
+ * New records that look like near-duplicates of games already in the catalog are
+ * imported but reported in the result.
+ */
+public class CatalogImporter {
+    private static final Logger LOGGER = Logger.getLogger(CatalogImporter.class.getName());
+    private static final int MIN_BATCH_SIZE = 1000;
+    // Records between two progress reports
+    private static final int PROGRESS_INTERVAL = 256;
+    private static final int MIN_RELEASE_YEAR = 1950;
+    private static final double MAX_RATING = 10.0;
+
+    private final GameRepository repository;
+
+    /**
+     * Listener notified while an import is running. Called on the importing thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Reports progress of the import.
+         *
+         * @param bytesRead the number of bytes read from the file so far
+         * @param totalBytes the size of the file
+         * @param recordsRead the number of records read so far
+         */
+        void onProgress(long bytesRead, long totalBytes, int recordsRead);
+    }
+
+    /**
+     * Creates an importer for the given repository.
+     *
+     * @param repository the repository to merge into
+     */
+    public CatalogImporter(GameRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Imports all games from a file.
+     *
+     * @param source the JSON file to import, optionally GZIP-compressed
+     * @param listener receives progress reports, may be null
+     * @param cancelled checked between records; the import is rolled back once it returns true
+     * @return the outcome of the import
+     * @throws IOException if the file cannot be read or the catalog cannot be saved;
+     *         the import is rolled back in that case
+     */
+    public Result importFile(Path source, ProgressListener listener, BooleanSupplier cancelled) throws IOException {
+        long startNanos = System.nanoTime();
+        long totalBytes = Files.size(source);
+        DuplicateIndex duplicateIndex = repository.getDuplicateIndex();
+        // Games written by this import, mapped to the catalog games they replaced
+        Map<Game, Game> originals = new IdentityHashMap<>();
+        List<Game> possibleDuplicates = new ArrayList<>();
+
+        int recordsRead = 0;
+        int rejected = 0;
+        int added = 0;
+        int updated = 0;
+        boolean committed = false;
+        boolean released = false;
+        boolean saved = true;
+        // Not a channel-backed stream: a cancel interrupts this thread and must not close the file mid-read
+        CountingInputStream raw = new CountingInputStream(new FileInputStream(source.toFile()));
+        repository.holdSaves();
+        try (GameJsonReader reader = new GameJsonReader(CatalogCompression.decompressing(raw))) {
+            List<Game> batch = new ArrayList<>();
+            Game game;
+            while ((game = reader.nextGame()) != null) {
+                if (cancelled.getAsBoolean()) {
+                    break;
+                }
+                recordsRead++;
+                Game normalized = normalize(game);
+                if (normalized == null) {
+                    rejected++;
+                } else {
+                    if (isPossibleDuplicate(duplicateIndex, normalized)) {
+                        possibleDuplicates.add(normalized);
+                    }
+                    batch.add(normalized);
+                }
+
+                // Batches grow with the catalog, so the copy made by each write stays amortized
+                if (batch.size() >= Math.max(MIN_BATCH_SIZE, repository.getGameCount() / 4)) {
+                    CatalogDiff diff = repository.upsertGames(batch);
+                    recordOriginals(originals, diff);
+                    added += diff.getAdded().size();
+                    updated += diff.getUpdated().size();
+                    batch = new ArrayList<>();
+                }
+                if (listener != null && recordsRead % PROGRESS_INTERVAL == 0) {
+                    listener.onProgress(raw.getCount(), totalBytes, recordsRead);
+                }
+            }
+            if (!cancelled.getAsBoolean()) {
+                if (!batch.isEmpty()) {
+                    CatalogDiff diff = repository.upsertGames(batch);
+                    recordOriginals(originals, diff);
+                    added += diff.getAdded().size();
+                    updated += diff.getUpdated().size();
+                }
+                if (listener != null) {
+                    listener.onProgress(totalBytes, totalBytes, recordsRead);
+                }
+                // Writes the import together with any save deferred while it ran
+                released = true;
+                if (!repository.releaseSaves(added + updated > 0)) {
+                    throw new IOException("Unable to save the imported catalog");
+                }
+                committed = true;
+            }
+        } finally {
+            // Cancelled or failed: undo this import's writes, keeping everyone else's
+            if (!committed) {
+                repository.revertGames(originals);
+                if (!released) {
+                    // Saves deferred while the import ran were already reported as done
+                    saved = repository.releaseSaves(false);
+                    if (!saved) {
+                        LOGGER.warning("Unable to save changes made while importing " + source);
+                    }
+                }
+            }
+        }
+        if (!committed) {
+            return new Result(recordsRead, 0, 0, rejected, List.of(), true, !saved, System.nanoTime() - startNanos);
+        }
+
+        Result result = new Result(recordsRead, added, updated, rejected, possibleDuplicates, false, false,
+                System.nanoTime() - startNanos);
+        LOGGER.info("Imported " + source + ": " + result);
+        return result;
+    }
+
+    /**
+     * Records what a batch written by the import replaced. A game replacing one written
+     * earlier by the same import takes over that game's original.
+     */
+    private static void recordOriginals(Map<Game, Game> originals, CatalogDiff diff) {
+        for (Game game : diff.getAdded()) {
+            originals.put(game, null);
+        }
+        List<Game> updated = diff.getUpdated();
+        List<Game> replaced = diff.getReplaced();
+        for (int i = 0; i < updated.size(); i++) {
+            Game previous = replaced.get(i);
+            originals.put(updated.get(i), originals.containsKey(previous) ? originals.remove(previous) : previous);
+        }
+    }
+
+    /**
+     * Checks whether a record resembles a catalog game without being the same game.
+     * A record with the key of an existing game is an update, not a duplicate.
+     */
+    private static boolean isPossibleDuplicate(DuplicateIndex index, Game game) {
+        List<Game> similar = index.findSimilar(game);
+        if (similar.isEmpty()) {
+            return false;
+        }
+        String key = game.getKey();
+        for (Game existing : similar) {
+            if (existing.getKey().equals(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates and normalizes an imported record. Text is trimmed, blank values are
+     * dropped, list entries are de-duplicated, and out-of-range years and ratings are
+     * cleared.
+     *
+     * @param game the parsed record
+     * @return the normalized game, or null if the record has no title
+     */
+    static Game normalize(Game game) {
+        String title = trimToNull(game.getTitle());
+        if (title == null) {
+            return null;
+        }
+        game.setTitle(title);
+        game.setDeveloper(trimToNull(game.getDeveloper()));
+        game.setPublisher(trimToNull(game.getPublisher()));
+        game.setLanguage(trimToNull(game.getLanguage()));
+        game.setCoverImagePath(trimToNull(game.getCoverImagePath()));
+        game.setDescriptionPath(trimToNull(game.getDescriptionPath()));
+        game.setGenres(normalizeList(game.getGenres()));
+        game.setPlatforms(normalizeList(game.getPlatforms()));
+        game.setTranslators(normalizeList(game.getTranslators()));
+        game.setTags(normalizeList(game.getTags()));
+
+        Integer year = game.getReleaseYear();
+        if (year != null && (year < MIN_RELEASE_YEAR || year > Year.now().getValue() + 5)) {
+            game.setReleaseYear(null);
+        }
+        Double rating = game.getRating();
+        if (rating != null && (rating < 0 || rating > MAX_RATING)) {
+            game.setRating(null);
+        }
+        return game;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static List<String> normalizeList(List<String> values) {
+        if (values == null) {
+            return null;
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String value : values) {
+            String trimmed = trimToNull(value);
+            if (trimmed != null) {
+                unique.add(trimmed);
+            }
+        }
+        return new ArrayList<>(unique);
+    }
+
+    /**
+     * Counts the bytes read from the file, so progress can be reported against the file
+     * size even when the content is decompressed on the way.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * Outcome of an import.
+     */
+    public static final class Result {
+        private final int recordsRead;
+        private final int added;
+        private final int updated;
+        private final int rejected;
+        private final List<Game> possibleDuplicates;
+        private final boolean cancelled;
+        private final boolean saveFailed;
+        private final long elapsedNanos;
+
+        Result(int recordsRead, int added, int updated, int rejected, List<Game> possibleDuplicates,
+               boolean cancelled, boolean saveFailed, long elapsedNanos) {
+            this.recordsRead = recordsRead;
+            this.added = added;
+            this.updated = updated;
+            this.rejected = rejected;
+            this.possibleDuplicates = Collections.unmodifiableList(possibleDuplicates);
+            this.cancelled = cancelled;
+            this.saveFailed = saveFailed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of records read from the file.
+         *
+         * @return the records read
+         */
+        public int getRecordsRead() {
+            return recordsRead;
+        }
+
+        /**
+         * Returns the number of games added to the catalog.
+         *
+         * @return the added games
+         */
+        public int getAdded() {
+            return added;
+        }
+
+        /**
+         * Returns the number of existing games replaced by a changed record.
+         *
+         * @return the updated games
+         */
+        public int getUpdated() {
+            return updated;
+        }
+
+        /**
+         * Returns the number of records skipped because they failed validation.
+         *
+         * @return the rejected records
+         */
+        public int getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Returns the imported games that look like near-duplicates of games that were
+         * already in the catalog.
+         *
+         * @return the possible duplicates, in file order
+         */
+        public List<Game> getPossibleDuplicates() {
+            return possibleDuplicates;
+        }
+
+        /**
+         * Checks whether the import was cancelled and rolled back.
+         *
+         * @return true if the import was cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Checks whether a save requested while a cancelled import ran could not be
+         * written. Those changes are still in the catalog but not on disk.
+         *
+         * @return true if the deferred save failed
+         */
+        public boolean isSaveFailed() {
+            return saveFailed;
+        }
+
+        /**
+         * Returns the import throughput.
+         *
+         * @return records read per second
+         */
+        public double getRecordsPerSecond() {
+            return elapsedNanos > 0 ? recordsRead * 1e9 / elapsedNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return recordsRead + " read, " + added + " added, " + updated + " updated, " + rejected + " rejected, "
+                    + possibleDuplicates.size() + " possible duplicates" + (cancelled ? " (cancelled)" : "");
+        }
+    }
+}
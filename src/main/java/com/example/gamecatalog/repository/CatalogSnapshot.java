@@ -0,0 +1,252 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the game catalog.
+ * A snapshot never changes after it is published, so it can be read from any
+ * thread without locking. Every write to the repository publishes a new snapshot
+ * with a higher version.
+ */
+public final class CatalogSnapshot {
+    private static final int[] EMPTY_POSITIONS = new int[0];
+
+    private final List<Game> games;
+    private final long version;
+    private final SteamIdIndex steamIds;
+    // Built on first use; a race only builds the same index twice. They are not carried
+    // over to the next snapshot, so the first query after each write rebuilds them
+    private volatile RangeIndex releaseYears;
+    private volatile RangeIndex ratings;
+    private volatile FacetIndex facets;
+    private volatile String[] titleKeys;
+    private volatile Map<String, int[]> positionsByKey;
+
+    /**
+     * Creates a snapshot over the given list. The list must not be modified afterwards.
+     *
+     * @param games the games in catalog order
+     * @param version the mutation version of the repository
+     */
+    CatalogSnapshot(List<Game> games, long version) {
+        this(games, version, SteamIdIndex.build(games));
+    }
+
+    /**
+     * Creates a snapshot over the given list with an already built Steam id index.
+     *
+     * @param games the games in catalog order
+     * @param version the mutation version of the repository
+     * @param steamIds the Steam id index over exactly these games
+     */
+    private CatalogSnapshot(List<Game> games, long version, SteamIdIndex steamIds) {
+        this.games = Collections.unmodifiableList(games);
+        this.version = version;
+        this.steamIds = steamIds;
+    }
+
+    /**
+     * Creates the snapshot that follows this one. The Steam id index is carried over
+     * and extended if the new list only appends games, and rebuilt otherwise.
+     *
+     * @param newGames the games of the next snapshot, which must not be modified afterwards
+     * @return the next snapshot, one version higher
+     */
+    CatalogSnapshot next(List<Game> newGames) {
+        SteamIdIndex index = startsWith(newGames, games) ? steamIds.append(newGames) : SteamIdIndex.build(newGames);
+        return new CatalogSnapshot(newGames, version + 1, index);
+    }
+
+    /**
+     * Creates the snapshot that follows this one when a single game was replaced in
+     * place. The Steam id index is patched instead of rebuilt.
+     *
+     * @param newGames the games of the next snapshot, which must not be modified afterwards
+     * @param position the position of the replaced game
+     * @param previous the game that was replaced
+     * @return the next snapshot, one version higher
+     */
+    CatalogSnapshot next(List<Game> newGames, int position, Game previous) {
+        return new CatalogSnapshot(newGames, version + 1, steamIds.replace(newGames, position, previous));
+    }
+
+    /**
+     * Returns the games in this snapshot.
+     *
+     * @return an unmodifiable list of games
+     */
+    public List<Game> getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the version of this snapshot.
+     *
+     * @return the mutation version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the number of games in this snapshot.
+     *
+     * @return the number of games
+     */
+    public int size() {
+        return games.size();
+    }
+
+    /**
+     * Finds the game with a Steam app id.
+     *
+     * @param steamId the Steam app id
+     * @return the game, or null if no game in this snapshot has the id
+     */
+    public Game findBySteamId(int steamId) {
+        int position = steamIds.find(steamId);
+        return position < 0 ? null : games.get(position);
+    }
+
+    /**
+     * Finds the games for many Steam app ids at once, e.g. to join store data against
+     * the catalog. Long id arrays are looked up in parallel.
+     *
+     * @param steamIds the Steam app ids
+     * @return a list with the game for each id, in the same order, holding null where
+     *         no game has the id
+     */
+    public List<Game> findBySteamIds(int[] steamIds) {
+        int[] positions = this.steamIds.findAll(steamIds);
+        Game[] found = new Game[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= 0) {
+                found[i] = games.get(positions[i]);
+            }
+        }
+        return Arrays.asList(found);
+    }
+
+    /**
+     * Returns the release year index of this snapshot, building it on first use.
+     *
+     * @return the index over the release years
+     */
+    RangeIndex getReleaseYearIndex() {
+        RangeIndex index = releaseYears;
+        if (index == null) {
+            index = RangeIndex.build(games, Game::getReleaseYear);
+            releaseYears = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the rating index of this snapshot, building it on first use.
+     *
+     * @return the index over the ratings
+     */
+    RangeIndex getRatingIndex() {
+        RangeIndex index = ratings;
+        if (index == null) {
+            index = RangeIndex.build(games, Game::getRating);
+            ratings = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the facet index of this snapshot, building it on first use.
+     *
+     * @return the index over the facet values
+     */
+    FacetIndex getFacetIndex() {
+        FacetIndex index = facets;
+        if (index == null) {
+            index = FacetIndex.build(this);
+            facets = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the title sort keys of this snapshot, computing them on first use.
+     *
+     * @return the {@link TitleKey} of each game by position; null where the title is null
+     */
+    String[] getTitleKeys() {
+        String[] keys = titleKeys;
+        if (keys == null) {
+            keys = games.parallelStream().map(game -> TitleKey.of(game.getTitle())).toArray(String[]::new);
+            titleKeys = keys;
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the positions of the games with a key, building the key lookup on first use.
+     *
+     * @param key a {@link Game#getKey()}
+     * @return the positions of the games with the key, ascending; empty if there are none
+     */
+    int[] positionsOf(String key) {
+        Map<String, int[]> positions = positionsByKey;
+        if (positions == null) {
+            positions = new HashMap<>(games.size() * 2);
+            for (int i = 0; i < games.size(); i++) {
+                int position = i;
+                positions.merge(games.get(i).getKey(), new int[] {i}, (found, single) -> {
+                    int[] grown = Arrays.copyOf(found, found.length + 1);
+                    grown[found.length] = position;
+                    return grown;
+                });
+            }
+            positionsByKey = positions;
+        }
+        return positions.getOrDefault(key, EMPTY_POSITIONS);
+    }
+
+    /**
+     * Returns the games at the given positions.
+     *
+     * @param positions positions in this snapshot
+     * @return the games, in the order of the positions
+     */
+    List<Game> gamesAt(int[] positions) {
+        List<Game> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(games.get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether this snapshot only adds games to the end of an earlier one,
+     * holding the same instances in the same order in front.
+     *
+     * @param earlier the earlier snapshot
+     * @return true if every change since the earlier snapshot was an append
+     */
+    public boolean startsWith(CatalogSnapshot earlier) {
+        return startsWith(games, earlier.games);
+    }
+
+    private static boolean startsWith(List<Game> games, List<Game> prefix) {
+        if (prefix.size() > games.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (prefix.get(i) != games.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
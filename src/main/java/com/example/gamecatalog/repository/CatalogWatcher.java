@@ -0,0 +1,108 @@
+package com.example.gamecatalog.repository;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the catalog file for changes made outside the application and applies
+ * them to the repository as a record-level diff.
+ * Runs on a daemon thread; bursts of events (editors and copy tools often write a
+ * file in several steps) are coalesced before the file is read.
+ */
+final class CatalogWatcher implements Runnable {
+    private static final Logger LOGGER = Logger.getLogger(CatalogWatcher.class.getName());
+    // Quiet period that must pass without further events before the file is reloaded
+    private static final long SETTLE_MILLIS = 250;
+
+    private final GameRepository repository;
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Creates a watcher for the given catalog file.
+     *
+     * @param repository the repository to apply changes to
+     * @param file the catalog file to watch
+     * @throws IOException if the directory cannot be watched
+     */
+    CatalogWatcher(GameRepository repository, Path file) throws IOException {
+        this.repository = repository;
+        this.file = file.toAbsolutePath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this, "catalog-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts watching.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops watching and releases the watch service.
+     */
+    void stop() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error closing catalog watch service", e);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = drain(key);
+
+                // Keep absorbing events until the file has been quiet for a moment
+                WatchKey next;
+                while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    relevant |= drain(next);
+                }
+
+                if (relevant) {
+                    CatalogDiff diff = repository.reloadChanges();
+                    if (!diff.isEmpty()) {
+                        LOGGER.info("Applied external catalog changes: " + diff);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Consumes the events of a key and checks whether any of them concern the catalog file.
+     */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || (context instanceof Path && file.getFileName().equals(context))) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
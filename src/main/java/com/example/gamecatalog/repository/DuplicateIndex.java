@@ -0,0 +1,427 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Locality-sensitive hashing index for finding near-duplicate games.
+ * Each game is reduced to a set of features: character 3-grams of its normalized title
+ * (lowercase, accents and punctuation removed, edition words such as "GOTY" dropped)
+ * plus its developer and publisher. A MinHash signature of that set is cut into bands,
+ * and games sharing any band become candidates, which are then confirmed by the exact
+ * Jaccard similarity of their feature sets. Numbers in titles, arabic or roman, tell
+ * sequels apart, so games are only confirmed if their titles carry the same numbers.
+ * Lookups therefore touch only a handful of games instead of the whole catalog.
+ * <p>
+ * An index covers one catalog snapshot and is immutable. A change to the catalog is
+ * applied with {@link #withChanges(List, List)}, which reuses the
+ * bands: games added since they were built are checked directly and games removed
+ * since are skipped, until there are enough of either to justify a rebuild.
+ */
+final class DuplicateIndex {
+    // 12 bands of 3 rows: sets with a Jaccard similarity of 0.6 share a band with ~95% probability
+    private static final int BANDS = 12;
+    private static final int ROWS = 3;
+    private static final int NUM_HASHES = BANDS * ROWS;
+    private static final double SIMILARITY_THRESHOLD = 0.6;
+    private static final int SHINGLE_LENGTH = 3;
+    // Members of one band bucket compared against each other when clustering
+    private static final int MAX_BUCKET_COMPARISONS = 32;
+    // Added and removed games tolerated before the index is rebuilt
+    private static final int MIN_REBUILD_BACKLOG = 256;
+    private static final Set<String> NOISE_WORDS = Set.of(
+            "the", "a", "an", "of", "goty", "game", "year", "edition", "definitive", "complete",
+            "remastered", "remaster", "deluxe", "ultimate", "enhanced", "hd", "collection");
+    // Roman numerals up to 39; a lone "i" is more often a word than a number
+    private static final Pattern ROMAN_NUMERAL = Pattern.compile("x{0,3}(ix|iv|v?i{0,3})");
+    private static final int[] SEEDS = new SplittableRandom(0x5EED).ints(NUM_HASHES).toArray();
+
+    // The games the bands were built for
+    private final List<Game> indexed;
+    // Per band: (band hash << 32 | index into indexed), sorted
+    private final long[][] bands;
+    // Games added since the bands were built, and indexed games removed since (by identity)
+    private final Set<Game> added;
+    private final Set<Game> removed;
+
+    private DuplicateIndex(List<Game> indexed, long[][] bands, Set<Game> added, Set<Game> removed) {
+        this.indexed = indexed;
+        this.bands = bands;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * Builds an index over all games of a snapshot, computing signatures in parallel.
+     *
+     * @param snapshot the snapshot to index
+     * @return the index
+     */
+    static DuplicateIndex build(CatalogSnapshot snapshot) {
+        List<Game> games = snapshot.getGames();
+        int count = games.size();
+        long[][] bands = new long[BANDS][count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int[] signature = signature(features(games.get(i)));
+            for (int band = 0; band < BANDS; band++) {
+                bands[band][i] = ((long) bandHash(signature, band) << 32) | i;
+            }
+        });
+        for (long[] band : bands) {
+            Arrays.parallelSort(band);
+        }
+        return new DuplicateIndex(games, bands, Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Returns an index for a newer snapshot that differs from the indexed one by the
+     * given games. The bands are shared; only the sets of added and removed games are
+     * copied, so the cost grows with the changes since the last rebuild.
+     *
+     * @param addedGames games in the newer snapshot that are not in the indexed one
+     * @param removedGames games of the indexed snapshot that are not in the newer one
+     * @return an index over the newer snapshot, or null if it should be rebuilt
+     */
+    DuplicateIndex withChanges(List<Game> addedGames, List<Game> removedGames) {
+        Set<Game> nowAdded = identitySet(added);
+        Set<Game> nowRemoved = identitySet(removed);
+        for (Game game : removedGames) {
+            // A game added since the rebuild simply leaves again
+            if (!nowAdded.remove(game)) {
+                nowRemoved.add(game);
+            }
+        }
+        for (Game game : addedGames) {
+            // A removed game that comes back is found through the bands again
+            if (!nowRemoved.remove(game)) {
+                nowAdded.add(game);
+            }
+        }
+        if (nowAdded.size() + nowRemoved.size() > Math.max(MIN_REBUILD_BACKLOG, indexed.size() / 16)) {
+            return null;
+        }
+        return new DuplicateIndex(indexed, bands, nowAdded, nowRemoved);
+    }
+
+    private static Set<Game> identitySet(Set<Game> games) {
+        Set<Game> copy = Collections.newSetFromMap(new IdentityHashMap<>());
+        copy.addAll(games);
+        return copy;
+    }
+
+    /**
+     * Finds games in the indexed snapshot that are likely duplicates of a game.
+     * The game itself (the same instance) is never reported.
+     *
+     * @param game the game to check
+     * @return similar games, most similar first
+     */
+    List<Game> findSimilar(Game game) {
+        int[] features = features(game);
+        String numbers = titleNumbers(game);
+        int[] signature = signature(features);
+
+        Set<Integer> candidates = new LinkedHashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            long hash = bandHash(signature, band);
+            long[] entries = bands[band];
+            for (int i = lowerBound(entries, hash << 32); i < entries.length && (entries[i] >> 32) == hash; i++) {
+                candidates.add((int) entries[i]);
+            }
+        }
+
+        Map<Game, Double> similar = new IdentityHashMap<>();
+        List<Game> candidateGames = new ArrayList<>(candidates.size() + added.size());
+        for (int index : candidates) {
+            candidateGames.add(indexed.get(index));
+        }
+        candidateGames.addAll(added);
+        for (Game candidate : candidateGames) {
+            if (candidate != game && !removed.contains(candidate) && numbers.equals(titleNumbers(candidate))) {
+                double similarity = jaccard(features, features(candidate));
+                if (similarity >= SIMILARITY_THRESHOLD) {
+                    similar.put(candidate, similarity);
+                }
+            }
+        }
+        List<Game> result = new ArrayList<>(similar.keySet());
+        result.sort(Comparator.comparingDouble((Game g) -> similar.get(g)).reversed());
+        return result;
+    }
+
+    /**
+     * Groups the indexed games into clusters of likely duplicates. Only games that
+     * share a band bucket are ever compared, so the work grows with the number of
+     * games rather than the number of pairs.
+     *
+     * @param cancelled checked between buckets; returns an empty list once it returns true
+     * @return clusters of two or more games, largest first
+     */
+    List<List<Game>> findClusters(BooleanSupplier cancelled) {
+        // Indexed games first, in band order, then those added since
+        List<Game> games = new ArrayList<>(indexed.size() + added.size());
+        games.addAll(indexed);
+        games.addAll(added);
+        int[] parent = new int[games.size()];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        Map<Integer, int[]> featureCache = new HashMap<>();
+        Map<Integer, String> numberCache = new HashMap<>();
+
+        for (long[] entries : bands) {
+            int start = 0;
+            while (start < entries.length) {
+                if (cancelled.getAsBoolean()) {
+                    return List.of();
+                }
+                int end = start + 1;
+                while (end < entries.length && (entries[end] >> 32) == (entries[start] >> 32)) {
+                    end++;
+                }
+                for (int j = start + 1; j < end; j++) {
+                    int b = (int) entries[j];
+                    if (removed.contains(games.get(b))) {
+                        continue;
+                    }
+                    for (int k = Math.max(start, j - MAX_BUCKET_COMPARISONS); k < j; k++) {
+                        int a = (int) entries[k];
+                        if (!removed.contains(games.get(a)) && find(parent, a) != find(parent, b)
+                                && cachedNumbers(numberCache, games, a).equals(cachedNumbers(numberCache, games, b))
+                                && jaccard(cachedFeatures(featureCache, games, a),
+                                           cachedFeatures(featureCache, games, b)) >= SIMILARITY_THRESHOLD) {
+                            parent[find(parent, a)] = find(parent, b);
+                        }
+                    }
+                }
+                start = end;
+            }
+        }
+        // Games added after the bands were built are compared with every candidate directly
+        if (!added.isEmpty()) {
+            Map<Game, Integer> positions = new IdentityHashMap<>();
+            for (int i = 0; i < games.size(); i++) {
+                positions.put(games.get(i), i);
+            }
+            for (int i = indexed.size(); i < games.size(); i++) {
+                for (Game similar : findSimilar(games.get(i))) {
+                    parent[find(parent, i)] = find(parent, positions.get(similar));
+                }
+            }
+        }
+
+        // Removed games are never joined, so they stay single and drop out here
+        int[] clusterSize = new int[parent.length];
+        for (int i = 0; i < parent.length; i++) {
+            clusterSize[find(parent, i)]++;
+        }
+        Map<Integer, List<Game>> clusters = new HashMap<>();
+        for (int i = 0; i < parent.length; i++) {
+            int root = find(parent, i);
+            if (clusterSize[root] > 1) {
+                clusters.computeIfAbsent(root, r -> new ArrayList<>()).add(games.get(i));
+            }
+        }
+        List<List<Game>> result = new ArrayList<>(clusters.values());
+        result.sort(Comparator.comparingInt((List<Game> cluster) -> cluster.size()).reversed());
+        return result;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static int[] cachedFeatures(Map<Integer, int[]> cache, List<Game> games, int index) {
+        return cache.computeIfAbsent(index, i -> features(games.get(i)));
+    }
+
+    private static String cachedNumbers(Map<Integer, String> cache, List<Game> games, int index) {
+        return cache.computeIfAbsent(index, i -> titleNumbers(games.get(i)));
+    }
+
+    /**
+     * Collects the numbers in a game's normalized title, roman numerals converted to
+     * arabic, as a sorted space-separated string. "Dark Souls III" gives "3".
+     */
+    static String titleNumbers(Game game) {
+        Set<String> numbers = new TreeSet<>();
+        for (String word : normalizeTitle(game.getTitle()).split(" ")) {
+            if (word.isEmpty() || word.equals("i")) {
+                continue;
+            }
+            if (word.chars().allMatch(Character::isDigit)) {
+                numbers.add(word.replaceFirst("^0+(?=.)", ""));
+            } else if (ROMAN_NUMERAL.matcher(word).matches()) {
+                numbers.add(Integer.toString(romanValue(word)));
+            }
+        }
+        return String.join(" ", numbers);
+    }
+
+    private static int romanValue(String numeral) {
+        int value = 0;
+        for (int i = 0; i < numeral.length(); i++) {
+            int digit = romanDigit(numeral.charAt(i));
+            if (i + 1 < numeral.length() && digit < romanDigit(numeral.charAt(i + 1))) {
+                value -= digit;
+            } else {
+                value += digit;
+            }
+        }
+        return value;
+    }
+
+    private static int romanDigit(char c) {
+        return c == 'x' ? 10 : c == 'v' ? 5 : 1;
+    }
+
+    /**
+     * Computes the sorted, de-duplicated feature hashes of a game.
+     */
+    static int[] features(Game game) {
+        Set<Integer> features = new LinkedHashSet<>();
+        String title = " " + normalizeTitle(game.getTitle()) + " ";
+        for (int i = 0; i + SHINGLE_LENGTH <= title.length(); i++) {
+            features.add(title.substring(i, i + SHINGLE_LENGTH).hashCode());
+        }
+        // Prefixes keep company features apart from title shingles
+        String developer = normalizeWords(game.getDeveloper());
+        if (!developer.isEmpty()) {
+            features.add(("\u0001" + developer).hashCode());
+        }
+        String publisher = normalizeWords(game.getPublisher());
+        if (!publisher.isEmpty()) {
+            features.add(("\u0002" + publisher).hashCode());
+        }
+        int[] result = new int[features.size()];
+        int i = 0;
+        for (int feature : features) {
+            result[i++] = feature;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Normalizes a title for comparison, dropping edition words unless nothing else is left.
+     */
+    static String normalizeTitle(String title) {
+        String words = normalizeWords(title);
+        StringBuilder sb = new StringBuilder(words.length());
+        for (String word : words.split(" ")) {
+            if (!word.isEmpty() && !NOISE_WORDS.contains(word)) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(word);
+            }
+        }
+        return sb.length() > 0 ? sb.toString() : words;
+    }
+
+    /**
+     * Lowercases text and strips accents and punctuation, leaving single-spaced words.
+     */
+    private static String normalizeWords(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        return folded.replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static int[] signature(int[] features) {
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int feature : features) {
+            for (int h = 0; h < NUM_HASHES; h++) {
+                int value = mix(feature ^ SEEDS[h]);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private static int bandHash(int[] signature, int band) {
+        int hash = band;
+        for (int row = 0; row < ROWS; row++) {
+            hash = hash * 31 + signature[band * ROWS + row];
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Murmur3 finalizer; spreads the bits of a hash.
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Jaccard similarity of two sorted, de-duplicated feature arrays.
+     */
+    private static double jaccard(int[] a, int[] b) {
+        if (a.length == 0 && b.length == 0) {
+            return 0;
+        }
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) shared / (a.length + b.length - shared);
+    }
+
+    private static int lowerBound(long[] entries, long key) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
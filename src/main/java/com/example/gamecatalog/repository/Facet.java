@@ -0,0 +1,46 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Attributes of a game that the catalog can be narrowed down by, one value at a time.
+ */
+public enum Facet {
+    GENRE(Game::getGenres),
+    PLATFORM(Game::getPlatforms),
+    TAG(Game::getTags),
+    PUBLISHER(game -> Collections.singletonList(game.getPublisher())),
+    DEVELOPER(game -> Collections.singletonList(game.getDeveloper()));
+
+    private final Function<Game, List<String>> extractor;
+
+    Facet(Function<Game, List<String>> extractor) {
+        this.extractor = extractor;
+    }
+
+    /**
+     * Returns the values a game has for this facet.
+     *
+     * @param game the game
+     * @return the values, possibly holding nulls or empty strings; null if the game has none
+     */
+    List<String> valuesOf(Game game) {
+        return extractor.apply(game);
+    }
+
+    /**
+     * Checks whether a game has a value for this facet.
+     *
+     * @param game the game
+     * @param value the value to look for
+     * @return true if the game has the value
+     */
+    boolean matches(Game game, String value) {
+        List<String> values = valuesOf(game);
+        return values != null && values.contains(value);
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Bitmap index over the facet values of the games in a snapshot.
+ * Bit i of a bitmap stands for the game at position i. Common values keep a full
+ * bitmap, rare ones just the sorted positions of their games, whichever is smaller.
+ * A query is evaluated by intersecting bitmaps, and facet counts are the cardinality
+ * of each value's intersection with the games matching the other filters, so neither
+ * touches a game object.
+ * <p>
+ * An index is immutable once built and belongs to the snapshot it was built for.
+ * Every write publishes a new snapshot, so the first query after a write builds the
+ * index again rather than patching the previous one: a removal shifts the positions
+ * of all games behind it and thus every bitmap, and even a single edit would copy
+ * each bitmap it touches. The build is one pass over the games, made on the thread
+ * running the query, never under the repository's write lock; a burst of writes
+ * with no query in between builds nothing.
+ */
+final class FacetIndex {
+    private final CatalogSnapshot snapshot;
+    private final int words;
+    private final Map<Facet, Values> facets = new EnumMap<>(Facet.class);
+    // Lowercase titles by position, for the title search
+    private final String[] titles;
+
+    /**
+     * The values of one facet and the games holding each of them.
+     */
+    private static final class Values {
+        // Distinct values, sorted ignoring case
+        final String[] names;
+        final Map<String, Integer> ids = new HashMap<>();
+        // Per value id: a bitmap, or null if the value is rare
+        final long[][] bitmaps;
+        // Per value id: the ascending positions of its games if the value is rare
+        final int[][] positions;
+
+        Values(String[] names, long[][] bitmaps, int[][] positions) {
+            this.names = names;
+            this.bitmaps = bitmaps;
+            this.positions = positions;
+            for (int id = 0; id < names.length; id++) {
+                ids.put(names[id], id);
+            }
+        }
+    }
+
+    private FacetIndex(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+        List<Game> games = snapshot.getGames();
+        this.words = (games.size() + 63) >>> 6;
+        this.titles = new String[games.size()];
+        for (int position = 0; position < games.size(); position++) {
+            String title = games.get(position).getTitle();
+            titles[position] = title == null ? null : title.toLowerCase(Locale.ROOT);
+        }
+        // Facets are independent, so they are collected in parallel
+        List<Values> built = Arrays.stream(Facet.values()).parallel()
+                .map(facet -> buildValues(games, facet))
+                .collect(Collectors.toList());
+        for (Facet facet : Facet.values()) {
+            facets.put(facet, built.get(facet.ordinal()));
+        }
+    }
+
+    /**
+     * Builds the index for a snapshot.
+     *
+     * @param snapshot the snapshot to index
+     * @return the index
+     */
+    static FacetIndex build(CatalogSnapshot snapshot) {
+        return new FacetIndex(snapshot);
+    }
+
+    private Values buildValues(List<Game> games, Facet facet) {
+        // Collect the positions of every value
+        Map<String, Posting> postings = new HashMap<>();
+        for (int position = 0; position < games.size(); position++) {
+            List<String> values = facet.valuesOf(games.get(position));
+            if (values == null) {
+                continue;
+            }
+            for (String value : values) {
+                if (value != null && !value.isEmpty()) {
+                    postings.computeIfAbsent(value, v -> new Posting()).add(position);
+                }
+            }
+        }
+
+        String[] names = postings.keySet().toArray(new String[0]);
+        Arrays.sort(names, String::compareToIgnoreCase);
+        long[][] bitmaps = new long[names.length][];
+        int[][] positions = new int[names.length][];
+        for (int id = 0; id < names.length; id++) {
+            Posting posting = postings.get(names[id]);
+            // A bitmap takes 2 words per 64 games, a position list 1 word per game
+            if (posting.count > 2 * words) {
+                long[] bitmap = new long[words];
+                for (int i = 0; i < posting.count; i++) {
+                    bitmap[posting.positions[i] >>> 6] |= 1L << posting.positions[i];
+                }
+                bitmaps[id] = bitmap;
+            } else {
+                positions[id] = Arrays.copyOf(posting.positions, posting.count);
+            }
+        }
+        return new Values(names, bitmaps, positions);
+    }
+
+    /**
+     * Growable list of ascending game positions for one value.
+     */
+    private static final class Posting {
+        int[] positions = new int[4];
+        int count;
+
+        void add(int position) {
+            // A value listed twice on the same game is kept once
+            if (count > 0 && positions[count - 1] == position) {
+                return;
+            }
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count++] = position;
+        }
+    }
+
+    /**
+     * Returns the distinct values of a facet.
+     *
+     * @param facet the facet
+     * @return the values, sorted ignoring case
+     */
+    List<String> values(Facet facet) {
+        return new ArrayList<>(Arrays.asList(facets.get(facet).names));
+    }
+
+    /**
+     * Returns the bitmap of the games matching a query.
+     *
+     * @param query the query
+     * @return a new bitmap; bit i is set if the game at position i matches
+     */
+    long[] selection(GameQuery query) {
+        return select(query, null);
+    }
+
+    /**
+     * Returns the positions of the games matching a query.
+     *
+     * @param query the query
+     * @return the positions in ascending order, i.e. in catalog order
+     */
+    int[] positions(GameQuery query) {
+        long[] selection = select(query, null);
+        int[] result = new int[cardinality(selection)];
+        int i = 0;
+        for (int word = 0; word < words; word++) {
+            long bits = selection[word];
+            while (bits != 0) {
+                result[i++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts, for every value of a facet, the games that would match the query if that
+     * value were chosen for the facet. The facet's own filter in the query is ignored,
+     * so other values of the chosen facet stay visible.
+     *
+     * @param facet the facet to count
+     * @param query the active filters
+     * @return the values with at least one matching game and their counts, sorted ignoring case
+     */
+    Map<String, Integer> counts(Facet facet, GameQuery query) {
+        long[] selection = select(query, facet);
+        Values values = facets.get(facet);
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int id = 0; id < values.names.length; id++) {
+            int count = 0;
+            long[] bitmap = values.bitmaps[id];
+            if (bitmap != null) {
+                for (int word = 0; word < words; word++) {
+                    count += Long.bitCount(bitmap[word] & selection[word]);
+                }
+            } else {
+                for (int position : values.positions[id]) {
+                    if ((selection[position >>> 6] & (1L << position)) != 0) {
+                        count++;
+                    }
+                }
+            }
+            if (count > 0) {
+                counts.put(values.names[id], count);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Computes the bitmap of the games matching a query.
+     *
+     * @param query the query
+     * @param ignored a facet whose filter is skipped, or null
+     * @return the bitmap of matching positions
+     */
+    private long[] select(GameQuery query, Facet ignored) {
+        long[] selection = new long[words];
+        Arrays.fill(selection, -1L);
+        int tail = titles.length & 63;
+        if (tail != 0) {
+            selection[words - 1] = (1L << tail) - 1;
+        }
+
+        for (Facet facet : Facet.values()) {
+            String value = query.get(facet);
+            if (facet != ignored && value != null) {
+                Values values = facets.get(facet);
+                Integer id = values.ids.get(value);
+                if (id == null) {
+                    return new long[words];
+                }
+                if (values.bitmaps[id] != null) {
+                    and(selection, values.bitmaps[id]);
+                } else {
+                    and(selection, toBitmap(values.positions[id]));
+                }
+            }
+        }
+        if (query.hasYearRange()) {
+            and(selection, toBitmap(snapshot.getReleaseYearIndex().positions(query.getStartYear(), query.getEndYear())));
+        }
+        if (query.getMinRating() != null) {
+            and(selection, toBitmap(snapshot.getRatingIndex().positions(query.getMinRating(), Double.POSITIVE_INFINITY)));
+        }
+        // Titles are checked last, only for the games that are still selected
+        String term = query.getSearchTerm();
+        if (term != null) {
+            for (int word = 0; word < words; word++) {
+                long bits = selection[word];
+                while (bits != 0) {
+                    long lowest = bits & -bits;
+                    String title = titles[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                    if (title == null || !title.contains(term)) {
+                        selection[word] &= ~lowest;
+                    }
+                    bits ^= lowest;
+                }
+            }
+        }
+        return selection;
+    }
+
+    private long[] toBitmap(int[] positions) {
+        long[] bitmap = new long[words];
+        for (int position : positions) {
+            bitmap[position >>> 6] |= 1L << position;
+        }
+        return bitmap;
+    }
+
+    private static void and(long[] target, long[] bitmap) {
+        for (int word = 0; word < target.length; word++) {
+            target[word] &= bitmap[word];
+        }
+    }
+
+    private static int cardinality(long[] bitmap) {
+        int count = 0;
+        for (long bits : bitmap) {
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+}
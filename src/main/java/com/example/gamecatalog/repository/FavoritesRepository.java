@@ -0,0 +1,407 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Repository for the user's favorite games, stored in data/games_favorites.json.
+ * Favorites are kept as a set of game keys (see {@link Game#getKey()}). The file is an
+ * append-only journal with one entry per line, so toggling a favorite writes a single
+ * line instead of rewriting the catalog. The journal is compacted once it grows well
+ * beyond the number of favorites. The file is read and written on a background thread;
+ * favorites toggled before it has been read are applied on top of it.
+ * <p>
+ * The favorite games of a catalog snapshot are found by looking up each key in the
+ * snapshot and kept ordered by catalog position, so a toggle updates them without
+ * copying the list or scanning the catalog. Listeners hear of every toggle.
+ */
+public class FavoritesRepository {
+    private static final Logger LOGGER = Logger.getLogger(FavoritesRepository.class.getName());
+    private static final String FAVORITES_FILE_PATH = "data/games_favorites.json";
+    private static final Pattern ENTRY_PATTERN = Pattern.compile(
+            "\"key\"\\s*:\\s*\"((?:[^\"\\\\]|\\\\.)*)\"\\s*,\\s*\"favorite\"\\s*:\\s*(true|false)");
+    // Journal entries allowed on top of the live favorites before the file is compacted
+    private static final int COMPACTION_SLACK = 32;
+
+    private static volatile FavoritesRepository sharedInstance;
+
+    private final Path path;
+    private final Set<String> favoriteKeys = new LinkedHashSet<>();
+    private int journalEntries;
+    // Set once the journal has been read; until then changes are kept to be replayed
+    private boolean loaded;
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+    // Reads and writes the journal in the order the changes were made
+    private final ExecutorService journalWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "favorites-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Favorite games of a catalog snapshot by position, patched on every toggle,
+    // and the list handed out for them until the next toggle
+    private CatalogSnapshot favoriteSnapshot;
+    private final TreeMap<Integer, Game> favoritePositions = new TreeMap<>();
+    private List<Game> favoriteGames;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Listener notified when a game is added to or removed from the favorites. Called
+     * on the thread that toggled the favorite.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        /**
+         * Reports a toggled favorite.
+         *
+         * @param game the toggled game
+         * @param favorite true if the game is a favorite now
+         */
+        void favoriteToggled(Game game, boolean favorite);
+
+        /**
+         * Reports that the favorites have been read from the file. Called on the
+         * background thread that read them.
+         */
+        default void favoritesLoaded() {
+        }
+    }
+
+    /**
+     * Constructor initializes the repository and loads favorites from the default file.
+     */
+    public FavoritesRepository() {
+        this(Paths.get(FAVORITES_FILE_PATH));
+    }
+
+    /**
+     * Constructor initializes the repository and starts loading favorites from the
+     * given file in the background.
+     *
+     * @param path the favorites journal
+     */
+    public FavoritesRepository(Path path) {
+        this.path = path;
+        journalWriter.execute(this::loadFavorites);
+    }
+
+    /**
+     * Returns the favorites repository shared by all controllers, loading it on first use.
+     *
+     * @return the shared favorites repository
+     */
+    public static FavoritesRepository getInstance() {
+        FavoritesRepository instance = sharedInstance;
+        if (instance == null) {
+            synchronized (FavoritesRepository.class) {
+                instance = sharedInstance;
+                if (instance == null) {
+                    instance = new FavoritesRepository();
+                    sharedInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Loads favorites from the journal, then replays the changes made meanwhile. A file
+     * in the old format (a JSON array of full game objects) is converted to keys and
+     * rewritten as a journal; the original is kept next to it with a .bak suffix.
+     * Runs on the journal writer.
+     */
+    private void loadFavorites() {
+        Set<String> keys = new LinkedHashSet<>();
+        int entries = 0;
+        try {
+            if (Files.exists(path)) {
+                byte[] content = Files.readAllBytes(path);
+                if (isGameArray(content)) {
+                    for (Game game : GameJsonParser.parseGames(content)) {
+                        keys.add(game.getKey());
+                    }
+                    Path backup = path.resolveSibling(path.getFileName() + ".bak");
+                    Files.copy(path, backup, StandardCopyOption.REPLACE_EXISTING);
+                    writeCompacted(new ArrayList<>(keys));
+                    entries = keys.size();
+                    LOGGER.info("Converted " + keys.size() + " favorites in " + path
+                            + " to journal format, keeping the original as " + backup);
+                } else {
+                    for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+                        Matcher matcher = ENTRY_PATTERN.matcher(line);
+                        if (!matcher.find()) {
+                            continue;
+                        }
+                        String key = unescape(matcher.group(1));
+                        if (Boolean.parseBoolean(matcher.group(2))) {
+                            keys.add(key);
+                        } else {
+                            keys.remove(key);
+                        }
+                        entries++;
+                    }
+                    LOGGER.info("Successfully loaded " + keys.size() + " favorites from " + path);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error loading favorites", e);
+        }
+        synchronized (this) {
+            favoriteKeys.clear();
+            favoriteKeys.addAll(keys);
+            journalEntries = entries;
+            loaded = true;
+            for (Runnable change : pendingChanges) {
+                change.run();
+            }
+            pendingChanges.clear();
+            // Resolve the favorite games again on the next request
+            favoriteSnapshot = null;
+        }
+        for (ChangeListener listener : listeners) {
+            listener.favoritesLoaded();
+        }
+    }
+
+    /**
+     * Checks whether the file content starts with a JSON array.
+     */
+    private static boolean isGameArray(byte[] content) {
+        for (byte b : content) {
+            if (!Character.isWhitespace(b)) {
+                return b == '[';
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a game is a favorite.
+     *
+     * @param game the game to check
+     * @return true if the game is a favorite
+     */
+    public synchronized boolean isFavorite(Game game) {
+        return game != null && favoriteKeys.contains(game.getKey());
+    }
+
+    /**
+     * Adds a game to the favorites, or removes it if it already is one, and notifies
+     * the listeners.
+     *
+     * @param game the game to toggle
+     * @return true if the game is a favorite after the call
+     */
+    public boolean toggleFavorite(Game game) {
+        if (game == null) {
+            return false;
+        }
+        boolean favorite;
+        synchronized (this) {
+            String key = game.getKey();
+            favorite = !favoriteKeys.contains(key);
+            setFavorite(key, favorite);
+            if (!loaded) {
+                pendingChanges.add(() -> setFavorite(key, favorite));
+            }
+        }
+        for (ChangeListener listener : listeners) {
+            listener.favoriteToggled(game, favorite);
+        }
+        return favorite;
+    }
+
+    /**
+     * Carries a favorite over to a new version of a game whose key changed, e.g. because
+     * its title was edited. Does nothing if the old version was not a favorite.
+     *
+     * @param previous the version the game had as a favorite
+     * @param game the new version of the game
+     */
+    public void updateFavorite(Game previous, Game game) {
+        if (previous == null || game == null) {
+            return;
+        }
+        String previousKey = previous.getKey();
+        String key = game.getKey();
+        if (previousKey.equals(key)) {
+            return;
+        }
+        boolean moved;
+        synchronized (this) {
+            moved = moveFavorite(previousKey, key);
+            if (!loaded) {
+                pendingChanges.add(() -> moveFavorite(previousKey, key));
+            }
+        }
+        if (moved) {
+            for (ChangeListener listener : listeners) {
+                listener.favoriteToggled(game, true);
+            }
+        }
+    }
+
+    /**
+     * Replaces a favorite key by another. Must be called while holding this.
+     */
+    private boolean moveFavorite(String previousKey, String key) {
+        if (!favoriteKeys.contains(previousKey)) {
+            return false;
+        }
+        setFavorite(previousKey, false);
+        setFavorite(key, true);
+        return true;
+    }
+
+    /**
+     * Applies a change to the favorites and, once the journal has been read, queues
+     * it for the journal. Must be called while holding this.
+     */
+    private void setFavorite(String key, boolean favorite) {
+        if (favorite) {
+            favoriteKeys.add(key);
+        } else {
+            favoriteKeys.remove(key);
+        }
+        patchFavoriteGames(key, favorite);
+        if (!loaded) {
+            return;
+        }
+        if (journalEntries >= 2 * favoriteKeys.size() + COMPACTION_SLACK) {
+            List<String> keys = new ArrayList<>(favoriteKeys);
+            journalEntries = keys.size();
+            journalWriter.execute(() -> {
+                try {
+                    writeCompacted(keys);
+                } catch (IOException e) {
+                    LOGGER.log(Level.SEVERE, "Error saving favorites", e);
+                }
+            });
+        } else {
+            byte[] line = journalLine(key, favorite).getBytes(StandardCharsets.UTF_8);
+            journalEntries++;
+            journalWriter.execute(() -> {
+                try {
+                    Files.write(path, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                } catch (IOException e) {
+                    LOGGER.log(Level.SEVERE, "Error saving favorites", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Registers a listener for toggled favorites.
+     *
+     * @param listener the listener to add
+     */
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Returns the favorite games present in the given catalog snapshot, in the order
+     * they appear in the catalog. The games are looked up by key when the catalog
+     * changes; toggling a favorite patches them in place.
+     *
+     * @param snapshot the catalog snapshot to resolve favorites against
+     * @return an unmodifiable list of favorite games
+     */
+    public synchronized List<Game> getFavoriteGames(CatalogSnapshot snapshot) {
+        if (snapshot != favoriteSnapshot) {
+            favoriteSnapshot = snapshot;
+            favoritePositions.clear();
+            for (String key : favoriteKeys) {
+                addFavoritePositions(key);
+            }
+            favoriteGames = null;
+        }
+        if (favoriteGames == null) {
+            favoriteGames = Collections.unmodifiableList(new ArrayList<>(favoritePositions.values()));
+        }
+        return favoriteGames;
+    }
+
+    /**
+     * Gets the number of favorites.
+     *
+     * @return the number of favorite keys
+     */
+    public synchronized int getFavoriteCount() {
+        return favoriteKeys.size();
+    }
+
+    /**
+     * Applies a toggle to the favorite games of the last resolved snapshot, which
+     * already has its key lookup, without rescanning the catalog.
+     */
+    private void patchFavoriteGames(String key, boolean favorite) {
+        if (favoriteSnapshot == null) {
+            return;
+        }
+        if (favorite) {
+            addFavoritePositions(key);
+        } else {
+            for (int position : favoriteSnapshot.positionsOf(key)) {
+                favoritePositions.remove(position);
+            }
+        }
+        favoriteGames = null;
+    }
+
+    private void addFavoritePositions(String key) {
+        List<Game> games = favoriteSnapshot.getGames();
+        for (int position : favoriteSnapshot.positionsOf(key)) {
+            favoritePositions.put(position, games.get(position));
+        }
+    }
+
+    /**
+     * Rewrites the journal with one entry per favorite. Runs on the journal writer.
+     *
+     * @param keys the favorite keys
+     * @throws IOException if the file cannot be written
+     */
+    private void writeCompacted(List<String> keys) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (String key : keys) {
+            sb.append(journalLine(key, true));
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, sb.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String journalLine(String key, boolean favorite) {
+        return "{ \"key\" : \"" + escape(key) + "\", \"favorite\" : " + favorite + " }\n";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String unescape(String value) {
+        return value.replace("\\\"", "\"").replace("\\\\", "\\");
+    }
+}
@@ -0,0 +1,440 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Parses catalog JSON into Game objects.
+ * The top-level array is first split into object boundaries with a single
+ * structural pass over the raw bytes, then the objects are parsed in parallel
+ * on the common fork/join pool and returned in their original order.
+ * NDJSON content is split on line breaks instead, see {@link #parseLines(byte[])}.
+ */
+final class GameJsonParser {
+    // Below this many objects per task the fork overhead outweighs the parallelism
+    private static final int MIN_OBJECTS_PER_TASK = 64;
+    // Objects handed to the pool at once when parsing a stream; the first batches are
+    // smaller, so the first games of a stream are available early
+    private static final int STREAM_BATCH_SIZE = 1024;
+    private static final int FIRST_STREAM_BATCH_SIZE = 64;
+    // Smallest slice of an NDJSON file worth parsing on its own thread
+    private static final int MIN_SEGMENT_BYTES = 64 * 1024;
+
+    private GameJsonParser() {
+    }
+
+    /**
+     * Parses every game object in a JSON array.
+     *
+     * @param data the UTF-8 encoded JSON content
+     * @return the parsed games in file order
+     */
+    static List<Game> parseGames(byte[] data) {
+        int[] bounds = findObjectBounds(data, 0, data.length);
+        int count = bounds.length / 2;
+        Game[] parsed = new Game[count];
+        if (count > 0) {
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            int threshold = Math.max(MIN_OBJECTS_PER_TASK, count / (parallelism * 4));
+            ForkJoinPool.commonPool().invoke(new ParseTask(data, bounds, parsed, 0, count, threshold));
+        }
+
+        List<Game> games = new ArrayList<>(count);
+        for (Game game : parsed) {
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Parses NDJSON content, one game object per line. The content is cut into slices
+     * at line breaks near evenly spaced offsets, so no sequential scan is needed before
+     * the slices are parsed in parallel. Blank lines are ignored.
+     *
+     * @param data the UTF-8 encoded NDJSON content
+     * @return the parsed games in file order
+     */
+    static List<Game> parseLines(byte[] data) {
+        int segments = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                data.length / MIN_SEGMENT_BYTES));
+        int[] cuts = new int[segments + 1];
+        cuts[segments] = data.length;
+        for (int i = 1; i < segments; i++) {
+            // Move each cut forward to the start of the next line
+            int cut = Math.max(cuts[i - 1], (int) ((long) data.length * i / segments));
+            while (cut > 0 && cut < data.length && data[cut - 1] != '\n') {
+                cut++;
+            }
+            cuts[i] = cut;
+        }
+
+        List<List<Game>> parts = IntStream.range(0, segments).parallel()
+                .mapToObj(i -> parseLineRange(data, cuts[i], cuts[i + 1]))
+                .collect(Collectors.toList());
+        List<Game> games = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(games::addAll);
+        return games;
+    }
+
+    /**
+     * Parses the non-blank lines in a range that starts at the beginning of a line.
+     */
+    private static List<Game> parseLineRange(byte[] data, int from, int to) {
+        List<Game> games = new ArrayList<>();
+        int lineStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || data[i] == '\n') {
+                if (!isBlank(data, lineStart, i)) {
+                    Game game = parseGame(new String(data, lineStart, i - lineStart, StandardCharsets.UTF_8));
+                    if (game != null) {
+                        games.add(game);
+                    }
+                }
+                lineStart = i + 1;
+            }
+        }
+        return games;
+    }
+
+    private static boolean isBlank(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isWhitespace(data[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses every game object in a JSON stream. The stream is scanned on the calling
+     * thread while batches of objects are parsed on the common fork/join pool, so
+     * reading (and decompressing) overlaps with parsing. Only the batches in flight
+     * are held as text.
+     *
+     * @param in the UTF-8 encoded JSON content; closed when done
+     * @return the parsed games in stream order
+     * @throws IOException if the stream cannot be read
+     */
+    static List<Game> parseGames(InputStream in) throws IOException {
+        List<Game> games = new ArrayList<>();
+        parseGames(in, games::addAll);
+        return games;
+    }
+
+    /**
+     * Parses every game object in a JSON stream and hands the games over in batches
+     * as soon as they are parsed, in stream order. Batches start small and grow, so
+     * a caller can show the first games long before the stream is exhausted.
+     *
+     * @param in the UTF-8 encoded JSON content; closed when done
+     * @param sink receives consecutive batches of parsed games, on the calling thread
+     * @throws IOException if the stream cannot be read
+     */
+    static void parseGames(InputStream in, Consumer<List<Game>> sink) throws IOException {
+        int maxInFlight = ForkJoinPool.getCommonPoolParallelism() * 2;
+        Deque<ForkJoinTask<List<Game>>> pending = new ArrayDeque<>();
+        try (GameJsonReader reader = new GameJsonReader(in)) {
+            int batchSize = FIRST_STREAM_BATCH_SIZE;
+            List<String> batch = new ArrayList<>(batchSize);
+            String json;
+            while ((json = reader.nextObject()) != null) {
+                batch.add(json);
+                if (batch.size() == batchSize) {
+                    pending.add(ForkJoinPool.commonPool().submit(parseBatch(batch)));
+                    batchSize = Math.min(STREAM_BATCH_SIZE, batchSize * 2);
+                    batch = new ArrayList<>(batchSize);
+                    // Hand over finished batches right away, and wait once too many are in flight
+                    while (!pending.isEmpty() && (pending.size() > maxInFlight || pending.peek().isDone())) {
+                        sink.accept(pending.poll().join());
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending.add(ForkJoinPool.commonPool().submit(parseBatch(batch)));
+            }
+        }
+        while (!pending.isEmpty()) {
+            sink.accept(pending.poll().join());
+        }
+    }
+
+    private static Callable<List<Game>> parseBatch(List<String> batch) {
+        return () -> {
+            List<Game> games = new ArrayList<>(batch.size());
+            for (String json : batch) {
+                Game game = parseGame(json);
+                if (game != null) {
+                    games.add(game);
+                }
+            }
+            return games;
+        };
+    }
+
+    /**
+     * Finds the start and end offsets of every top-level game object.
+     * Only brackets outside of string literals are counted, so titles containing
+     * braces do not split an object.
+     *
+     * @param data the UTF-8 encoded JSON content
+     * @param from the first offset to scan
+     * @param to the offset after the last byte to scan
+     * @return pairs of (start, end) offsets, end exclusive
+     */
+    static int[] findObjectBounds(byte[] data, int from, int to) {
+        int[] bounds = new int[64];
+        int found = 0;
+        int depth = 0;
+        int objectDepth = -1;
+        int start = -1;
+
+        for (int i = from; i < to; i++) {
+            byte b = data[i];
+            if (b == '"') {
+                // Skip the string literal, honouring escapes
+                for (i++; i < to && data[i] != '"'; i++) {
+                    if (data[i] == '\\') {
+                        i++;
+                    }
+                }
+            } else if (b == '{' || b == '[') {
+                if (objectDepth < 0) {
+                    // Games live directly inside the outer array, or at the root if there is none
+                    objectDepth = b == '[' ? 1 : 0;
+                }
+                if (b == '{' && depth == objectDepth) {
+                    start = i;
+                }
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+                if (b == '}' && depth == objectDepth && start >= 0) {
+                    if (found + 2 > bounds.length) {
+                        bounds = Arrays.copyOf(bounds, bounds.length * 2);
+                    }
+                    bounds[found++] = start;
+                    bounds[found++] = i + 1;
+                    start = -1;
+                }
+            }
+        }
+        return Arrays.copyOf(bounds, found);
+    }
+
+    /**
+     * Parses a contiguous range of objects, splitting it in half until it is small enough.
+     */
+    private static final class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+        private final int[] bounds;
+        private final Game[] parsed;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ParseTask(byte[] data, int[] bounds, Game[] parsed, int from, int to, int threshold) {
+            this.data = data;
+            this.bounds = bounds;
+            this.parsed = parsed;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    int start = bounds[2 * i];
+                    int end = bounds[2 * i + 1];
+                    parsed[i] = parseGame(new String(data, start, end - start, StandardCharsets.UTF_8));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ParseTask(data, bounds, parsed, from, mid, threshold),
+                    new ParseTask(data, bounds, parsed, mid, to, threshold));
+        }
+    }
+
+    /**
+     * Parses a single game JSON object into a Game object.
+     *
+     * @param gameJson the JSON string for a single game
+     * @return the Game object or null if parsing failed
+     */
+    static Game parseGame(String gameJson) {
+        Game game = new Game();
+
+        // Extract title
+        extractStringValue(gameJson, "title", game::setTitle);
+
+        // Extract developer
+        extractStringValue(gameJson, "developer", game::setDeveloper);
+
+        // Extract publisher
+        extractStringValue(gameJson, "publisher", game::setPublisher);
+
+        // Extract genres
+        extractStringListValue(gameJson, "genres", game::setGenres);
+
+        // Extract platforms
+        extractStringListValue(gameJson, "platforms", game::setPlatforms);
+
+        // Extract translators
+        extractStringListValue(gameJson, "translators", game::setTranslators);
+
+        // Extract steamId
+        extractIntegerValue(gameJson, "steamId", game::setSteamId);
+
+        // Extract releaseYear
+        extractIntegerValue(gameJson, "releaseYear", game::setReleaseYear);
+
+        // Extract language
+        extractStringValue(gameJson, "language", game::setLanguage);
+
+        // Extract rating
+        extractDoubleValue(gameJson, "rating", game::setRating);
+
+        // Extract tags
+        extractStringListValue(gameJson, "tags", game::setTags);
+
+        // Extract coverImagePath
+        extractStringValue(gameJson, "coverImagePath", game::setCoverImagePath);
+
+        // Extract descriptionPath (correcting the misspelling in the JSON)
+        extractStringValue(gameJson, "descriptionPath", game::setDescriptionPath);
+
+        return game;
+    }
+
+    /**
+     * Extracts a string value from JSON.
+     *
+     * @param json the JSON string
+     * @param fieldName the field name to extract
+     * @param setter the setter method to call with the extracted value
+     */
+    private static void extractStringValue(String json, String fieldName, StringSetter setter) {
+        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*\"([^\"]*)\"");
+        Matcher matcher = pattern.matcher(json);
+        if (matcher.find()) {
+            String value = matcher.group(1);
+            if (!"null".equals(value)) {
+                setter.set(value);
+            }
+        }
+    }
+
+    /**
+     * Extracts an integer value from JSON.
+     *
+     * @param json the JSON string
+     * @param fieldName the field name to extract
+     * @param setter the setter method to call with the extracted value
+     */
+    private static void extractIntegerValue(String json, String fieldName, IntegerSetter setter) {
+        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*(\\d+|null)");
+        Matcher matcher = pattern.matcher(json);
+        if (matcher.find()) {
+            String value = matcher.group(1);
+            if (!"null".equals(value)) {
+                setter.set(Integer.parseInt(value));
+            }
+        }
+    }
+
+    /**
+     * Extracts a double value from JSON.
+     *
+     * @param json the JSON string
+     * @param fieldName the field name to extract
+     * @param setter the setter method to call with the extracted value
+     */
+    private static void extractDoubleValue(String json, String fieldName, DoubleSetter setter) {
+        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*(\\d+\\.\\d+|\\d+|null)");
+        Matcher matcher = pattern.matcher(json);
+        if (matcher.find()) {
+            String value = matcher.group(1);
+            if (!"null".equals(value)) {
+                setter.set(Double.parseDouble(value));
+            }
+        }
+    }
+
+    /**
+     * Extracts a string list value from JSON.
+     *
+     * @param json the JSON string
+     * @param fieldName the field name to extract
+     * @param setter the setter method to call with the extracted value
+     */
+    private static void extractStringListValue(String json, String fieldName, ListSetter setter) {
+        // Arrays written by other tools may span several lines
+        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*\\[(.*?)\\]", Pattern.DOTALL);
+        Matcher matcher = pattern.matcher(json);
+        if (matcher.find()) {
+            String listContent = matcher.group(1);
+            List<String> items = new ArrayList<>();
+            Pattern itemPattern = Pattern.compile("\"([^\"]*)\"");
+            Matcher itemMatcher = itemPattern.matcher(listContent);
+            while (itemMatcher.find()) {
+                items.add(itemMatcher.group(1));
+            }
+            setter.set(items);
+        }
+    }
+
+    /**
+     * Functional interface for setting string values.
+     */
+    @FunctionalInterface
+    private interface StringSetter {
+        void set(String value);
+    }
+
+    /**
+     * Functional interface for setting integer values.
+     */
+    @FunctionalInterface
+    private interface IntegerSetter {
+        void set(Integer value);
+    }
+
+    /**
+     * Functional interface for setting double values.
+     */
+    @FunctionalInterface
+    private interface DoubleSetter {
+        void set(Double value);
+    }
+
+    /**
+     * Functional interface for setting list values.
+     */
+    @FunctionalInterface
+    private interface ListSetter {
+        void set(List<String> value);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads game objects one at a time from a catalog JSON stream.
+ * Uses the same structural scan as {@link GameJsonParser#findObjectBounds}, but keeps
+ * its state across buffer refills, so memory use is bounded by the largest single
+ * object rather than by the size of the file.
+ */
+final class GameJsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    // Scanner state, carried over between reads
+    private int depth;
+    private int objectDepth = -1;
+    private boolean inString;
+    private boolean escaped;
+
+    // Bytes of the object currently being collected
+    private byte[] object = new byte[1024];
+    private int objectLength = -1;
+
+    /**
+     * Creates a reader over the given stream. The stream is closed with the reader.
+     *
+     * @param in the UTF-8 encoded JSON content
+     */
+    GameJsonReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next top-level game object as JSON text.
+     *
+     * @return the JSON of the next object, or null at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    String nextObject() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return null;
+            }
+            byte b = buffer[position++];
+            if (objectLength >= 0) {
+                appendByte(b);
+            }
+
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '"') {
+                inString = true;
+            } else if (b == '{' || b == '[') {
+                if (objectDepth < 0) {
+                    // Games live directly inside the outer array, or at the root if there is none
+                    objectDepth = b == '[' ? 1 : 0;
+                }
+                if (b == '{' && depth == objectDepth) {
+                    objectLength = 0;
+                    appendByte(b);
+                }
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+                if (b == '}' && depth == objectDepth && objectLength >= 0) {
+                    String json = new String(object, 0, objectLength, StandardCharsets.UTF_8);
+                    objectLength = -1;
+                    return json;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads and parses the next game.
+     *
+     * @return the next game, or null at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    Game nextGame() throws IOException {
+        String json = nextObject();
+        return json != null ? GameJsonParser.parseGame(json) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private boolean fill() throws IOException {
+        int n;
+        do {
+            n = in.read(buffer);
+        } while (n == 0);
+        if (n < 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    private void appendByte(byte b) {
+        if (objectLength == object.length) {
+            object = Arrays.copyOf(object, object.length * 2);
+        }
+        object[objectLength++] = b;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes games one at a time as a catalog JSON array or as NDJSON.
+ * Produces the same layout as {@link GameJsonWriter#encodeGames} or
+ * {@link GameJsonWriter#encodeLines}, but only ever holds one serialized game in
+ * memory, so the output size is not limited by memory.
+ */
+final class GameJsonStreamWriter implements Closeable {
+    private final Writer out;
+    private final CatalogFormat format;
+    private final StringBuilder sb = new StringBuilder(1024);
+    private int count;
+
+    /**
+     * Creates a writer over the given stream. The stream is closed with the writer.
+     *
+     * @param out the stream to write UTF-8 encoded JSON to
+     * @param format the layout to write
+     */
+    GameJsonStreamWriter(OutputStream out, CatalogFormat format) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.format = format;
+    }
+
+    /**
+     * Appends a game to the output.
+     *
+     * @param game the game to write
+     * @throws IOException if the stream cannot be written
+     */
+    void writeGame(Game game) throws IOException {
+        sb.setLength(0);
+        if (format == CatalogFormat.NDJSON) {
+            GameJsonWriter.appendGame(sb, game, true);
+            sb.append('\n');
+        } else {
+            sb.append(count == 0 ? "[\n" : ",\n");
+            GameJsonWriter.appendGame(sb, game);
+        }
+        out.append(sb);
+        count++;
+    }
+
+    /**
+     * Returns the number of games written so far.
+     *
+     * @return the games written
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Closes the array, if any, and the underlying stream.
+     *
+     * @throws IOException if the stream cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (format == CatalogFormat.JSON_ARRAY) {
+                out.write(count == 0 ? "[\n\n]" : "\n]");
+            }
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes games into the catalog JSON layout.
+ * The list is cut into contiguous chunks that are encoded to UTF-8 in parallel,
+ * then written in order with a single gathering channel write.
+ */
+final class GameJsonWriter {
+    // Rough size of one serialized game, used to pre-size chunk buffers
+    private static final int ESTIMATED_GAME_LENGTH = 512;
+    private static final int MIN_GAMES_PER_CHUNK = 64;
+
+    private GameJsonWriter() {
+    }
+
+    /**
+     * Writes encoded chunks to a file. The data goes to a temporary sibling first and
+     * is then moved over the target, so readers never observe a half-written file.
+     *
+     * @param path the file to write
+     * @param buffers the encoded chunks, in order
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path path, ByteBuffer[] buffers) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Compresses encoded chunks in parallel, each into its own GZIP member. Concatenated
+     * members form a valid GZIP stream, so the result can be written as one file and
+     * read back with a single {@link java.util.zip.GZIPInputStream}.
+     *
+     * @param buffers the encoded chunks, in order
+     * @return the compressed chunks, in the same order
+     */
+    static ByteBuffer[] compress(ByteBuffer[] buffers) {
+        ByteBuffer[] compressed = new ByteBuffer[buffers.length];
+        Arrays.parallelSetAll(compressed, chunk -> {
+            ByteBuffer buffer = buffers[chunk].duplicate();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(buffer.remaining() / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                if (buffer.hasArray()) {
+                    gzip.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                } else {
+                    byte[] data = new byte[buffer.remaining()];
+                    buffer.get(data);
+                    gzip.write(data);
+                }
+            } catch (IOException e) {
+                // Not thrown by in-memory streams
+                throw new UncheckedIOException(e);
+            }
+            return ByteBuffer.wrap(bytes.toByteArray());
+        });
+        return compressed;
+    }
+
+    /**
+     * Appends encoded chunks to the end of a file with a single gathering write.
+     * Used for NDJSON catalogs, where new games are new lines.
+     *
+     * @param path the file to append to
+     * @param buffers the encoded chunks, in order
+     * @throws IOException if the file cannot be written
+     */
+    static void append(Path path, ByteBuffer[] buffers) throws IOException {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+        }
+    }
+
+    /**
+     * Feeds encoded chunks into a CRC-32 checksum without consuming them. Passing the
+     * checksum of a file and the chunks appended to it yields the checksum of the
+     * appended file.
+     *
+     * @param checksum the checksum to update
+     * @param buffers the encoded chunks, in order
+     */
+    static void updateChecksum(CRC32 checksum, ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            checksum.update(buffer.duplicate());
+        }
+    }
+
+    /**
+     * Computes a hash of the serialized form of a game. Two games with the same
+     * fingerprint serialize to the same JSON, so this detects edits to any field.
+     *
+     * @param game the game to hash
+     * @return a 64-bit FNV-1a hash of the game's JSON
+     */
+    static long fingerprint(Game game) {
+        StringBuilder sb = new StringBuilder(ESTIMATED_GAME_LENGTH);
+        appendGame(sb, game);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < sb.length(); i++) {
+            hash ^= sb.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Encodes the games as a JSON array, one buffer per chunk in output order.
+     *
+     * @param games the games to encode
+     * @return the encoded chunks
+     */
+    static ByteBuffer[] encodeGames(List<Game> games) {
+        return encode(games, CatalogFormat.JSON_ARRAY);
+    }
+
+    /**
+     * Encodes the games as NDJSON, one compact line per game, one buffer per chunk
+     * in output order.
+     *
+     * @param games the games to encode
+     * @return the encoded chunks
+     */
+    static ByteBuffer[] encodeLines(List<Game> games) {
+        return encode(games, CatalogFormat.NDJSON);
+    }
+
+    private static ByteBuffer[] encode(List<Game> games, CatalogFormat format) {
+        int size = games.size();
+        int chunkCount = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 2,
+                size / MIN_GAMES_PER_CHUNK));
+        ByteBuffer[] buffers = new ByteBuffer[chunkCount];
+        Arrays.parallelSetAll(buffers, chunk -> {
+            int from = (int) ((long) size * chunk / chunkCount);
+            int to = (int) ((long) size * (chunk + 1) / chunkCount);
+            if (format == CatalogFormat.NDJSON) {
+                return encodeLineChunk(games, from, to);
+            }
+            return encodeChunk(games, from, to, chunk == 0, chunk == chunkCount - 1);
+        });
+        return buffers;
+    }
+
+    /**
+     * Encodes one contiguous range of games, including the array brackets if it
+     * is the first or last chunk.
+     */
+    private static ByteBuffer encodeChunk(List<Game> games, int from, int to, boolean first, boolean last) {
+        StringBuilder sb = new StringBuilder((to - from) * ESTIMATED_GAME_LENGTH + 8);
+        if (first) {
+            sb.append("[\n");
+        }
+        for (int i = from; i < to; i++) {
+            if (i > 0) {
+                sb.append(",\n");
+            }
+            appendGame(sb, games.get(i));
+        }
+        if (last) {
+            sb.append("\n]");
+        }
+        return StandardCharsets.UTF_8.encode(CharBuffer.wrap(sb));
+    }
+
+    /**
+     * Encodes one contiguous range of games as NDJSON lines.
+     */
+    private static ByteBuffer encodeLineChunk(List<Game> games, int from, int to) {
+        StringBuilder sb = new StringBuilder((to - from) * ESTIMATED_GAME_LENGTH);
+        for (int i = from; i < to; i++) {
+            appendGame(sb, games.get(i), true);
+            sb.append('\n');
+        }
+        return StandardCharsets.UTF_8.encode(CharBuffer.wrap(sb));
+    }
+
+    /**
+     * Appends the JSON representation of a game to a StringBuilder.
+     *
+     * @param sb the StringBuilder to append to
+     * @param game the game to convert
+     */
+    static void appendGame(StringBuilder sb, Game game) {
+        appendGame(sb, game, false);
+    }
+
+    /**
+     * Appends the JSON representation of a game to a StringBuilder, either indented
+     * over several lines as in the catalog array, or compact on a single line.
+     *
+     * @param sb the StringBuilder to append to
+     * @param game the game to convert
+     * @param compact whether to write the game on a single line
+     */
+    static void appendGame(StringBuilder sb, Game game, boolean compact) {
+        sb.append(compact ? "{" : "  {\n");
+
+        // Add title
+        appendJsonString(sb, "title", game.getTitle(), true, compact);
+
+        // Add developer
+        appendJsonString(sb, "developer", game.getDeveloper(), true, compact);
+
+        // Add publisher
+        appendJsonString(sb, "publisher", game.getPublisher(), true, compact);
+
+        // Add genres
+        appendJsonArray(sb, "genres", game.getGenres(), true, compact);
+
+        // Add platforms
+        appendJsonArray(sb, "platforms", game.getPlatforms(), true, compact);
+
+        // Add translators
+        appendJsonArray(sb, "translators", game.getTranslators(), true, compact);
+
+        // Add steamId
+        appendJsonValue(sb, "steamId", game.getSteamId(), true, compact);
+
+        // Add releaseYear
+        appendJsonValue(sb, "releaseYear", game.getReleaseYear(), true, compact);
+
+        // Add language
+        appendJsonString(sb, "language", game.getLanguage(), true, compact);
+
+        // Add rating
+        appendJsonValue(sb, "rating", game.getRating(), true, compact);
+
+        // Add tags
+        appendJsonArray(sb, "tags", game.getTags(), true, compact);
+
+        // Add coverImagePath
+        appendJsonString(sb, "coverImagePath", game.getCoverImagePath(), true, compact);
+
+        // Add descriptionPath (correcting the misspelling in the JSON)
+        appendJsonString(sb, "descriptionPath", game.getDescriptionPath(), false, compact);
+
+        sb.append(compact ? "}" : "\n  }");
+    }
+
+    /**
+     * Appends a JSON string field to the StringBuilder.
+     *
+     * @param sb the StringBuilder to append to
+     * @param fieldName the field name
+     * @param value the value
+     * @param addComma whether to add a comma after the field
+     * @param compact whether to omit indentation and line breaks
+     */
+    private static void appendJsonString(StringBuilder sb, String fieldName, String value, boolean addComma,
+                                         boolean compact) {
+        appendFieldName(sb, fieldName, compact);
+        if (value == null) {
+            sb.append("null");
+        } else {
+            sb.append("\"").append(value).append("\"");
+        }
+        endField(sb, addComma, compact);
+    }
+
+    /**
+     * Appends a JSON value field to the StringBuilder.
+     *
+     * @param sb the StringBuilder to append to
+     * @param fieldName the field name
+     * @param value the value
+     * @param addComma whether to add a comma after the field
+     * @param compact whether to omit indentation and line breaks
+     */
+    private static void appendJsonValue(StringBuilder sb, String fieldName, Object value, boolean addComma,
+                                        boolean compact) {
+        appendFieldName(sb, fieldName, compact);
+        if (value == null) {
+            sb.append("null");
+        } else {
+            sb.append(value);
+        }
+        endField(sb, addComma, compact);
+    }
+
+    /**
+     * Appends a JSON array field to the StringBuilder.
+     *
+     * @param sb the StringBuilder to append to
+     * @param fieldName the field name
+     * @param list the list of values
+     * @param addComma whether to add a comma after the field
+     * @param compact whether to omit indentation and line breaks
+     */
+    private static void appendJsonArray(StringBuilder sb, String fieldName, List<String> list, boolean addComma,
+                                        boolean compact) {
+        appendFieldName(sb, fieldName, compact);
+        sb.append("[");
+        if (list != null && !list.isEmpty()) {
+            for (int i = 0; i < list.size(); i++) {
+                sb.append(compact ? "\"" : " \"").append(list.get(i)).append("\"");
+                if (i < list.size() - 1) {
+                    sb.append(",");
+                }
+            }
+            if (!compact) {
+                sb.append(" ");
+            }
+        }
+        sb.append("]");
+        endField(sb, addComma, compact);
+    }
+
+    private static void appendFieldName(StringBuilder sb, String fieldName, boolean compact) {
+        if (compact) {
+            sb.append("\"").append(fieldName).append("\":");
+        } else {
+            sb.append("    \"").append(fieldName).append("\" : ");
+        }
+    }
+
+    private static void endField(StringBuilder sb, boolean addComma, boolean compact) {
+        if (addComma) {
+            sb.append(",");
+        }
+        if (!compact) {
+            sb.append("\n");
+        }
+    }
+}
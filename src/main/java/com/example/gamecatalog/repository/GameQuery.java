@@ -0,0 +1,226 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable combination of catalog filters: a title search term, at most one value
+ * per {@link Facet}, a release year range and a minimum rating, plus the order of
+ * the result. Every filter is optional; the empty query matches all games in catalog
+ * order. The {@code with...} methods return a modified copy. Equal queries select the
+ * same games, so a query can serve as a cache key.
+ */
+public final class GameQuery {
+    /** The query without any filter. */
+    public static final GameQuery ALL =
+            new GameQuery(null, new EnumMap<>(Facet.class), null, null, null, GameSort.CATALOG);
+
+    private final String searchTerm;
+    private final Map<Facet, String> facets;
+    private final Integer startYear;
+    private final Integer endYear;
+    private final Double minRating;
+    private final GameSort sort;
+
+    private GameQuery(String searchTerm, Map<Facet, String> facets, Integer startYear, Integer endYear,
+                      Double minRating, GameSort sort) {
+        this.searchTerm = searchTerm;
+        this.facets = facets;
+        this.startYear = startYear;
+        this.endYear = endYear;
+        this.minRating = minRating;
+        this.sort = sort;
+    }
+
+    /**
+     * Returns a copy that only matches titles containing a term, ignoring case.
+     *
+     * @param term the search term; null or blank removes the filter
+     * @return the modified query
+     */
+    public GameQuery withSearchTerm(String term) {
+        String normalized = term == null || term.trim().isEmpty() ? null : term.trim().toLowerCase(Locale.ROOT);
+        return new GameQuery(normalized, facets, startYear, endYear, minRating, sort);
+    }
+
+    /**
+     * Returns a copy that only matches games having a value for a facet.
+     *
+     * @param facet the facet
+     * @param value the required value; null or empty removes the filter
+     * @return the modified query
+     */
+    public GameQuery with(Facet facet, String value) {
+        Map<Facet, String> copy = new EnumMap<>(Facet.class);
+        copy.putAll(facets);
+        if (value == null || value.isEmpty()) {
+            copy.remove(facet);
+        } else {
+            copy.put(facet, value);
+        }
+        return new GameQuery(searchTerm, copy, startYear, endYear, minRating, sort);
+    }
+
+    /**
+     * Returns a copy that only matches games released within a year range.
+     *
+     * @param start the first year, inclusive; null together with end removes the filter
+     * @param end the last year, inclusive
+     * @return the modified query
+     */
+    public GameQuery withYearRange(Integer start, Integer end) {
+        return new GameQuery(searchTerm, facets, start, end, minRating, sort);
+    }
+
+    /**
+     * Returns a copy that only matches games rated at or above a threshold.
+     *
+     * @param rating the minimum rating; null removes the filter
+     * @return the modified query
+     */
+    public GameQuery withMinRating(Double rating) {
+        return new GameQuery(searchTerm, facets, startYear, endYear, rating, sort);
+    }
+
+    /**
+     * Returns a copy that lists its games in another order.
+     *
+     * @param order the order of the result; null means catalog order
+     * @return the modified query
+     */
+    public GameQuery withSort(GameSort order) {
+        return new GameQuery(searchTerm, facets, startYear, endYear, minRating,
+                order == null ? GameSort.CATALOG : order);
+    }
+
+    /**
+     * Returns the order of the result.
+     *
+     * @return the sort order
+     */
+    public GameSort getSort() {
+        return sort;
+    }
+
+    /**
+     * Returns the lowercase search term.
+     *
+     * @return the search term, or null if titles are not filtered
+     */
+    public String getSearchTerm() {
+        return searchTerm;
+    }
+
+    /**
+     * Returns the value required for a facet.
+     *
+     * @param facet the facet
+     * @return the value, or null if the facet is not filtered
+     */
+    public String get(Facet facet) {
+        return facets.get(facet);
+    }
+
+    /**
+     * Checks whether the query filters by release year.
+     *
+     * @return true if a year range is set
+     */
+    public boolean hasYearRange() {
+        return startYear != null || endYear != null;
+    }
+
+    /**
+     * Returns the first year of the range.
+     *
+     * @return the first year, or the smallest int if open
+     */
+    public int getStartYear() {
+        return startYear == null ? Integer.MIN_VALUE : startYear;
+    }
+
+    /**
+     * Returns the last year of the range.
+     *
+     * @return the last year, or the largest int if open
+     */
+    public int getEndYear() {
+        return endYear == null ? Integer.MAX_VALUE : endYear;
+    }
+
+    /**
+     * Returns the minimum rating.
+     *
+     * @return the minimum rating, or null if ratings are not filtered
+     */
+    public Double getMinRating() {
+        return minRating;
+    }
+
+    /**
+     * Checks a single game against every filter of this query.
+     *
+     * @param game the game to check
+     * @return true if the game passes all filters
+     */
+    public boolean matches(Game game) {
+        if (searchTerm != null) {
+            String title = game.getTitle();
+            if (title == null || !title.toLowerCase(Locale.ROOT).contains(searchTerm)) {
+                return false;
+            }
+        }
+        for (Map.Entry<Facet, String> entry : facets.entrySet()) {
+            if (!entry.getKey().matches(game, entry.getValue())) {
+                return false;
+            }
+        }
+        if (hasYearRange()) {
+            Integer releaseYear = game.getReleaseYear();
+            if (releaseYear == null || releaseYear < getStartYear() || releaseYear > getEndYear()) {
+                return false;
+            }
+        }
+        if (minRating != null && (game.getRating() == null || game.getRating() < minRating)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameQuery)) {
+            return false;
+        }
+        GameQuery other = (GameQuery) o;
+        return Objects.equals(searchTerm, other.searchTerm)
+                && facets.equals(other.facets)
+                && Objects.equals(startYear, other.startYear)
+                && Objects.equals(endYear, other.endYear)
+                && Objects.equals(minRating, other.minRating)
+                && sort == other.sort;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(searchTerm, facets, startYear, endYear, minRating, sort);
+    }
+
+    @Override
+    public String toString() {
+        return "GameQuery{" +
+                "searchTerm='" + searchTerm + '\'' +
+                ", facets=" + facets +
+                ", years=" + startYear + ".." + endYear +
+                ", minRating=" + minRating +
+                ", sort=" + sort +
+                '}';
+    }
+}
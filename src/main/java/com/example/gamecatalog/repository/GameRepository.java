@@ -2,374 +2,727 @@ package com.example.gamecatalog.repository;
 
 import com.example.gamecatalog.model.Game;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 /**
  * Repository class for managing game data from JSON file.
- * Reads and stores game objects from data/games_all.json.
+ * Reads and stores game objects from data/games_all.json. The catalog may also be
+ * stored as NDJSON (data/games_all.ndjson), and either file may be GZIP-compressed
+ * (a .gz suffix). Format and compression are recognized from the content and kept
+ * when the catalog is written back.
+ * The catalog is held as an immutable {@link CatalogSnapshot}; reads never lock and
+ * writes publish a new snapshot, so readers on other threads never see a partial update.
  */
 public class GameRepository {
     private static final Logger LOGGER = Logger.getLogger(GameRepository.class.getName());
-    private static final String JSON_FILE_PATH = "data/games_all.json";
-
-    private List<Game> games;
+    private static final String CATALOG_FILE_BASE = "data/games_all";
+    private static final String GZIP_EXTENSION = ".gz";
+    // Recent filter and sort combinations whose results are kept
+    private static final int QUERY_CACHE_SIZE = 32;
+    // Games published before the first snapshot of a background load; later snapshots
+    // are published each time the number of loaded games doubles
+    private static final int FIRST_LOADED_GAMES = 100;
+
+    private static volatile GameRepository sharedInstance;
+
+    // Readers take the current snapshot without locking; writers copy it,
+    // apply their change and publish a new snapshot under writeLock.
+    private final Object writeLock = new Object();
+    private volatile CatalogSnapshot snapshot = new CatalogSnapshot(new ArrayList<>(), 0);
+
+    // Catalog file in use, its layout and whether its content is GZIP-compressed
+    private volatile Path catalogPath;
+    private volatile CatalogFormat format = CatalogFormat.JSON_ARRAY;
+    private volatile boolean compressed;
+
+    // Checksum of the catalog file as last read or written by this repository.
+    // The digest is kept so appends can extend it without re-reading the file.
+    // fileLock guards the digest, the appendable snapshot and writes to the file;
+    // it may be taken while holding writeLock, never the other way round.
+    private final Object fileLock = new Object();
+    private volatile long fileChecksum;
+    private CRC32 fileDigest = new CRC32();
+    // Snapshot the NDJSON file currently holds, if new games may be appended to it
+    private CatalogSnapshot appendableSnapshot;
+    private CatalogWatcher watcher;
+
+    private final SubmissionPublisher<CatalogChange> changes = new SubmissionPublisher<>();
+    // Hands changes to the publisher in the order they were made, outside writeLock:
+    // submit blocks while a subscriber is behind, and subscribers may need a writer's
+    // thread (the FX thread) to catch up
+    private final ExecutorService changeDelivery = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-changes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Near-duplicate index of the current snapshot, built on first use and then kept up
+    // to date with every change; guarded by writeLock. Only one thread builds it at a time.
+    private DuplicateIndex duplicateIndex;
+    private final Object duplicateIndexBuild = new Object();
+    private final QueryCache queryCache = new QueryCache(QUERY_CACHE_SIZE);
+    private volatile boolean loading;
+    // Set once the catalog file has been or is being read
+    private boolean loadStarted;
+    // Set when a save was requested during a background load or while saves were
+    // held, guarded by fileLock
+    private boolean saveDeferred;
+    // Number of imports holding back saves, guarded by fileLock
+    private int saveHolds;
 
     /**
      * Constructor initializes the repository and loads games from JSON.
      */
     public GameRepository() {
-        this.games = new ArrayList<>();
-        loadGames();
+        this(true);
+    }
+
+    private GameRepository(boolean load) {
+        Path existing = findCatalogFile();
+        catalogPath = existing != null ? existing : catalogPathFor(CatalogFormat.JSON_ARRAY, false);
+        detectStorage();
+        if (load) {
+            loadStarted = true;
+            loadGames();
+        }
     }
 
     /**
-     * Loads games from the JSON file.
+     * Returns the repository shared by all controllers, loading it on first use.
+     *
+     * @return the shared repository
      */
-    private void loadGames() {
-        games = new ArrayList<>();
-        try {
-            String content = new String(Files.readAllBytes(Paths.get(JSON_FILE_PATH)));
-            parseGamesFromJson(content);
-            LOGGER.info("Successfully loaded " + games.size() + " games from " + JSON_FILE_PATH);
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Error loading games from JSON file", e);
+    public static GameRepository getInstance() {
+        GameRepository instance = sharedInstance;
+        if (instance == null) {
+            synchronized (GameRepository.class) {
+                instance = sharedInstance;
+                if (instance == null) {
+                    instance = new GameRepository();
+                    sharedInstance = instance;
+                }
+            }
         }
+        return instance;
     }
 
     /**
-     * Parses the JSON content into Game objects.
-     * Note: This is a simplified parser and may not handle all JSON cases.
+     * Returns the repository shared by all controllers without reading the catalog file.
+     * On first use the repository starts out empty, and {@link #loadInBackground()}
+     * reads it; callers can subscribe to changes in between, so they see every game
+     * arrive. Later calls to {@link #getInstance()} return the same repository.
      *
-     * @param content JSON content as string
+     * @return the shared repository, possibly still empty
      */
-    private void parseGamesFromJson(String content) {
-        // Extract individual game objects
-        Pattern gamePattern = Pattern.compile("\\{[^{}]*(?:\\{[^{}]*\\}[^{}]*)*\\}");
-        Matcher gameMatcher = gamePattern.matcher(content);
-
-        while (gameMatcher.find()) {
-            String gameJson = gameMatcher.group();
-            Game game = parseGameFromJson(gameJson);
-            if (game != null) {
-                games.add(game);
+    public static GameRepository getInstanceWithoutLoading() {
+        synchronized (GameRepository.class) {
+            if (sharedInstance == null) {
+                sharedInstance = new GameRepository(false);
             }
+            return sharedInstance;
         }
     }
 
     /**
-     * Parses a single game JSON object into a Game object.
+     * Finds the catalog file in the data directory, in any supported format.
      *
-     * @param gameJson the JSON string for a single game
-     * @return the Game object or null if parsing failed
+     * @return the catalog file, or null if there is none yet
      */
-    private Game parseGameFromJson(String gameJson) {
-        Game game = new Game();
-
-        // Extract title
-        extractStringValue(gameJson, "title", game::setTitle);
+    public static Path findCatalogFile() {
+        for (CatalogFormat candidate : CatalogFormat.values()) {
+            for (boolean compress : new boolean[] {true, false}) {
+                Path path = catalogPathFor(candidate, compress);
+                if (Files.exists(path)) {
+                    return path;
+                }
+            }
+        }
+        return null;
+    }
 
-        // Extract developer
-        extractStringValue(gameJson, "developer", game::setDeveloper);
+    private static Path catalogPathFor(CatalogFormat format, boolean compress) {
+        return Paths.get(CATALOG_FILE_BASE + format.getExtension() + (compress ? GZIP_EXTENSION : ""));
+    }
 
-        // Extract publisher
-        extractStringValue(gameJson, "publisher", game::setPublisher);
+    /**
+     * Detects the layout and compression of the catalog file from its first bytes, so
+     * they are known before a background load has read the file.
+     */
+    private void detectStorage() {
+        if (!Files.exists(catalogPath)) {
+            return;
+        }
+        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(catalogPath))) {
+            in.mark(2);
+            compressed = CatalogCompression.isGzip(in.readNBytes(2));
+            in.reset();
+            format = CatalogFormat.detect(compressed
+                    ? new BufferedInputStream(CatalogCompression.decompressing(in))
+                    : in);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to detect the layout of " + catalogPath, e);
+        }
+    }
 
-        // Extract genres
-        extractStringListValue(gameJson, "genres", game::setGenres);
+    /**
+     * Loads games from the JSON file.
+     */
+    private void loadGames() {
+        List<Game> games = new ArrayList<>();
+        byte[] content = null;
+        try {
+            content = Files.readAllBytes(catalogPath);
+            games = decode(content);
+            LOGGER.info("Successfully loaded " + games.size() + " games from " + catalogPath);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error loading games from JSON file", e);
+        }
+        synchronized (writeLock) {
+            publish(games);
+            emit(CatalogChange.Type.RESET, List.of(), List.of());
+            if (content != null) {
+                recordFileContent(content, snapshot);
+            }
+        }
+    }
 
-        // Extract platforms
-        extractStringListValue(gameJson, "platforms", game::setPlatforms);
+    /**
+     * Reads the catalog file on a background thread, streaming the games into the
+     * catalog as they are parsed. The first {@value #FIRST_LOADED_GAMES} games are
+     * published as soon as they are parsed, and then each time the catalog doubles,
+     * every time as an {@link CatalogChange.Type#ADDED} change. A final
+     * {@link CatalogChange.Type#RESET} announces that loading has finished.
+     * Games added by other writers during the load are kept. Saves requested during
+     * the load are deferred until it has finished, so the file is never overwritten
+     * with a partial catalog. Does nothing if the catalog has already been read.
+     */
+    public synchronized void loadInBackground() {
+        if (loadStarted) {
+            return;
+        }
+        loadStarted = true;
+        loading = true;
+        Thread loader = new Thread(this::loadGamesProgressively, "catalog-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
 
-        // Extract translators
-        extractStringListValue(gameJson, "translators", game::setTranslators);
+    /**
+     * Checks whether a background load is still running.
+     *
+     * @return true until the catalog file has been read completely
+     */
+    public boolean isLoading() {
+        return loading;
+    }
 
-        // Extract steamId
-        extractIntegerValue(gameJson, "steamId", game::setSteamId);
+    private void loadGamesProgressively() {
+        List<Game> pending = new ArrayList<>();
+        int[] loaded = {0};
+        byte[] content = null;
+        try {
+            content = Files.readAllBytes(catalogPath);
+            // Remember the file right away, so the watcher does not take it for an outside edit
+            recordFileContent(content, null);
+            compressed = CatalogCompression.isGzip(content);
+            BufferedInputStream in = new BufferedInputStream(compressed
+                    ? CatalogCompression.decompressing(new ByteArrayInputStream(content))
+                    : new ByteArrayInputStream(content));
+            format = CatalogFormat.detect(in);
+            GameJsonParser.parseGames(in, batch -> {
+                pending.addAll(batch);
+                if (loaded[0] + pending.size() >= Math.max(FIRST_LOADED_GAMES, 2 * loaded[0])) {
+                    loaded[0] += pending.size();
+                    appendLoaded(pending);
+                    pending.clear();
+                }
+            });
+            loaded[0] += pending.size();
+            LOGGER.info("Successfully loaded " + loaded[0] + " games from " + catalogPath);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error loading games from JSON file", e);
+        }
+        boolean save;
+        synchronized (writeLock) {
+            appendLoaded(pending);
+            synchronized (fileLock) {
+                if (content != null) {
+                    // Appending to the file is only safe if nobody else changed the catalog meanwhile
+                    boolean fileOnly = snapshot.getGames().size() == loaded[0];
+                    recordFileContent(content, fileOnly ? snapshot : null);
+                }
+                loading = false;
+                save = saveDeferred && saveHolds == 0;
+                saveDeferred &= !save;
+            }
+            emit(CatalogChange.Type.RESET, List.of(), List.of());
+        }
+        if (save) {
+            saveGames();
+        }
+    }
 
-        // Extract releaseYear
-        extractIntegerValue(gameJson, "releaseYear", game::setReleaseYear);
+    private void appendLoaded(List<Game> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            List<Game> games = new ArrayList<>(snapshot.getGames().size() + batch.size());
+            games.addAll(snapshot.getGames());
+            games.addAll(batch);
+            publish(games);
+            emit(CatalogChange.Type.ADDED, new ArrayList<>(batch), List.of());
+        }
+    }
 
-        // Extract language
-        extractStringValue(gameJson, "language", game::setLanguage);
+    /**
+     * Reloads all games from the JSON file, replacing the in-memory catalog.
+     */
+    public void reload() {
+        loadGames();
+    }
 
-        // Extract rating
-        extractDoubleValue(gameJson, "rating", game::setRating);
+    /**
+     * Re-reads the JSON file and applies only the records that differ from the
+     * in-memory catalog. Records are matched by key and compared by content hash;
+     * unchanged games keep their existing instances.
+     *
+     * @return the changes that were applied
+     */
+    public CatalogDiff reloadChanges() {
+        byte[] content;
+        try {
+            content = Files.readAllBytes(catalogPath);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error reading games from JSON file", e);
+            return CatalogDiff.empty();
+        }
+        CRC32 contentDigest = new CRC32();
+        contentDigest.update(content);
+        if (contentDigest.getValue() == fileChecksum) {
+            // The file is what we last read or wrote ourselves
+            return CatalogDiff.empty();
+        }
+        List<Game> fileGames;
+        try {
+            fileGames = decode(content);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error decompressing games from JSON file", e);
+            return CatalogDiff.empty();
+        }
 
-        // Extract tags
-        extractStringListValue(gameJson, "tags", game::setTags);
+        synchronized (writeLock) {
+            Map<String, Deque<Game>> currentByKey = new HashMap<>();
+            for (Game game : snapshot.getGames()) {
+                currentByKey.computeIfAbsent(game.getKey(), k -> new ArrayDeque<>()).add(game);
+            }
 
-        // Extract coverImagePath
-        extractStringValue(gameJson, "coverImagePath", game::setCoverImagePath);
+            List<Game> games = new ArrayList<>(fileGames.size());
+            List<Game> added = new ArrayList<>();
+            List<Game> updated = new ArrayList<>();
+            List<Game> replaced = new ArrayList<>();
+            for (Game fileGame : fileGames) {
+                Deque<Game> candidates = currentByKey.get(fileGame.getKey());
+                Game existing = candidates != null ? candidates.poll() : null;
+                if (existing == null) {
+                    added.add(fileGame);
+                    games.add(fileGame);
+                } else if (GameJsonWriter.fingerprint(existing) != GameJsonWriter.fingerprint(fileGame)) {
+                    updated.add(fileGame);
+                    replaced.add(existing);
+                    games.add(fileGame);
+                } else {
+                    games.add(existing);
+                }
+            }
+            List<Game> removed = new ArrayList<>();
+            for (Deque<Game> remaining : currentByKey.values()) {
+                removed.addAll(remaining);
+            }
 
-        // Extract descriptionPath (correcting the misspelling in the JSON)
-        extractStringValue(gameJson, "descriptionPath", game::setDescriptionPath);
+            CatalogDiff diff = new CatalogDiff(added, updated, removed);
+            if (!diff.isEmpty()) {
+                publish(games);
+                emit(CatalogChange.Type.REMOVED, removed, List.of());
+                emit(CatalogChange.Type.UPDATED, updated, replaced);
+                emit(CatalogChange.Type.ADDED, added, List.of());
+            }
+            // The catalog now lists the same games in the same order as the file
+            recordFileContent(content, snapshot);
+            return diff;
+        }
+    }
 
-        return game;
+    /**
+     * Starts watching the JSON file for changes made by other programs. Changes are
+     * applied with {@link #reloadChanges()} and announced through the change publisher.
+     * Calling this again replaces the previous watcher.
+     */
+    public synchronized void startWatching() {
+        stopWatching();
+        try {
+            watcher = new CatalogWatcher(this, catalogPath);
+            watcher.start();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to watch " + catalogPath + " for changes", e);
+        }
     }
 
     /**
-     * Extracts a string value from JSON.
-     *
-     * @param json the JSON string
-     * @param fieldName the field name to extract
-     * @param setter the setter method to call with the extracted value
+     * Stops watching the JSON file.
      */
-    private void extractStringValue(String json, String fieldName, StringSetter setter) {
-        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*\"([^\"]*)\"");
-        Matcher matcher = pattern.matcher(json);
-        if (matcher.find()) {
-            String value = matcher.group(1);
-            if (!"null".equals(value)) {
-                setter.set(value);
-            }
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
         }
     }
 
     /**
-     * Extracts an integer value from JSON.
+     * Parses raw catalog file content and records its format. Compressed content is
+     * decompressed as a stream straight into the parser; plain content is parsed in
+     * place, NDJSON by splitting it on line breaks.
      *
-     * @param json the JSON string
-     * @param fieldName the field name to extract
-     * @param setter the setter method to call with the extracted value
+     * @param content the raw file content
+     * @return the parsed games
+     * @throws IOException if compressed content is corrupt
      */
-    private void extractIntegerValue(String json, String fieldName, IntegerSetter setter) {
-        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*(\\d+|null)");
-        Matcher matcher = pattern.matcher(json);
-        if (matcher.find()) {
-            String value = matcher.group(1);
-            if (!"null".equals(value)) {
-                setter.set(Integer.parseInt(value));
-            }
+    private List<Game> decode(byte[] content) throws IOException {
+        compressed = CatalogCompression.isGzip(content);
+        if (compressed) {
+            BufferedInputStream in = new BufferedInputStream(
+                    CatalogCompression.decompressing(new ByteArrayInputStream(content)));
+            format = CatalogFormat.detect(in);
+            return GameJsonParser.parseGames(in);
         }
+        format = CatalogFormat.detect(content);
+        return format == CatalogFormat.NDJSON ? GameJsonParser.parseLines(content) : GameJsonParser.parseGames(content);
     }
 
     /**
-     * Extracts a double value from JSON.
+     * Remembers the checksum of the catalog file and which snapshot it holds.
+     * Games can later be appended to a plain NDJSON file that ends with a complete line.
      *
-     * @param json the JSON string
-     * @param fieldName the field name to extract
-     * @param setter the setter method to call with the extracted value
+     * @param content the file content
+     * @param fileSnapshot the snapshot listing exactly the games of the file, or null if
+     *                     the catalog differs from the file
      */
-    private void extractDoubleValue(String json, String fieldName, DoubleSetter setter) {
-        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*(\\d+\\.\\d+|\\d+|null)");
-        Matcher matcher = pattern.matcher(json);
-        if (matcher.find()) {
-            String value = matcher.group(1);
-            if (!"null".equals(value)) {
-                setter.set(Double.parseDouble(value));
-            }
+    private void recordFileContent(byte[] content, CatalogSnapshot fileSnapshot) {
+        CRC32 digest = new CRC32();
+        digest.update(content);
+        boolean appendable = fileSnapshot != null && format == CatalogFormat.NDJSON && !compressed
+                && (content.length == 0 || content[content.length - 1] == '\n');
+        synchronized (fileLock) {
+            fileDigest = digest;
+            fileChecksum = digest.getValue();
+            appendableSnapshot = appendable ? fileSnapshot : null;
         }
     }
 
     /**
-     * Extracts a string list value from JSON.
+     * Returns the current immutable snapshot of the catalog.
+     * The snapshot stays consistent even if the repository is modified afterwards.
      *
-     * @param json the JSON string
-     * @param fieldName the field name to extract
-     * @param setter the setter method to call with the extracted value
+     * @return the current snapshot
      */
-    private void extractStringListValue(String json, String fieldName, ListSetter setter) {
-        Pattern pattern = Pattern.compile("\"" + fieldName + "\"\\s*:\\s*\\[(.*?)\\]");
-        Matcher matcher = pattern.matcher(json);
-        if (matcher.find()) {
-            String listContent = matcher.group(1);
-            List<String> items = new ArrayList<>();
-            Pattern itemPattern = Pattern.compile("\"([^\"]*)\"");
-            Matcher itemMatcher = itemPattern.matcher(listContent);
-            while (itemMatcher.find()) {
-                items.add(itemMatcher.group(1));
-            }
-            setter.set(items);
-        }
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
-     * Functional interface for setting string values.
+     * Publishes a new snapshot. Must be called while holding writeLock.
+     *
+     * @param games the new list of games, which must not be modified afterwards
      */
-    @FunctionalInterface
-    private interface StringSetter {
-        void set(String value);
+    private void publish(List<Game> games) {
+        snapshot = snapshot.next(games);
     }
 
     /**
-     * Functional interface for setting integer values.
+     * Publishes a new snapshot in which one game was replaced in place, so its
+     * indexes can be patched. Must be called while holding writeLock.
+     *
+     * @param games the new list of games, which must not be modified afterwards
+     * @param position the position of the replaced game
+     * @param previous the game that was replaced
      */
-    @FunctionalInterface
-    private interface IntegerSetter {
-        void set(Integer value);
+    private void publish(List<Game> games, int position, Game previous) {
+        snapshot = snapshot.next(games, position, previous);
     }
 
     /**
-     * Functional interface for setting double values.
+     * Announces a change of the current snapshot to subscribers and applies it to the
+     * near-duplicate index. Must be called while holding writeLock, right after
+     * {@link #publish(List)}, so changes are queued in order. Never blocks; the change
+     * is delivered on the catalog-changes thread.
      */
-    @FunctionalInterface
-    private interface DoubleSetter {
-        void set(Double value);
+    private void emit(CatalogChange.Type type, List<Game> games, List<Game> previousGames) {
+        DuplicateIndex index = duplicateIndex;
+        if (index == null || type == CatalogChange.Type.RESET) {
+            duplicateIndex = null;
+        } else if (type == CatalogChange.Type.REMOVED) {
+            duplicateIndex = index.withChanges(List.of(), games);
+        } else {
+            duplicateIndex = index.withChanges(games, previousGames);
+        }
+        if (type != CatalogChange.Type.RESET && games.isEmpty()) {
+            return;
+        }
+        CatalogChange change = new CatalogChange(type, games, previousGames, snapshot.getVersion());
+        changeDelivery.execute(() -> changes.submit(change));
     }
 
     /**
-     * Functional interface for setting list values.
+     * Returns the stream of changes made to the catalog. Each subscriber receives every
+     * change published after it subscribed, in order, at the pace it requests them.
+     *
+     * @return the change publisher
      */
-    @FunctionalInterface
-    private interface ListSetter {
-        void set(List<String> value);
+    public Flow.Publisher<CatalogChange> getChangePublisher() {
+        return changes;
     }
 
     /**
      * Saves the current list of games to the JSON file.
+     * For NDJSON catalogs where games were only added since the last save, the new
+     * games are appended instead of rewriting the file. While the catalog is still
+     * being loaded in the background, or an import is in progress, the save is
+     * deferred until loading finishes or the import ends.
      *
-     * @return true if saved successfully, false otherwise
+     * @return true if saved successfully or deferred, false otherwise
      */
     public boolean saveGames() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(JSON_FILE_PATH))) {
-            writer.write("[\n");
-            for (int i = 0; i < games.size(); i++) {
-                writer.write(gameToJson(games.get(i)));
-                if (i < games.size() - 1) {
-                    writer.write(",\n");
+        synchronized (fileLock) {
+            if (loading || saveHolds > 0) {
+                saveDeferred = true;
+                LOGGER.info("Catalog is still loading or importing; saving once it is complete");
+                return true;
+            }
+            CatalogSnapshot current = snapshot;
+            List<Game> games = current.getGames();
+            if (appendableSnapshot != null && current.startsWith(appendableSnapshot)) {
+                return appendGames(current, games.subList(appendableSnapshot.size(), games.size()));
+            }
+            try {
+                ByteBuffer[] content = format == CatalogFormat.NDJSON
+                        ? GameJsonWriter.encodeLines(games)
+                        : GameJsonWriter.encodeGames(games);
+                if (compressed) {
+                    content = GameJsonWriter.compress(content);
+                }
+                // Record the checksum before the file appears so the watcher ignores our own write
+                CRC32 digest = new CRC32();
+                GameJsonWriter.updateChecksum(digest, content);
+                CRC32 previousDigest = fileDigest;
+                long previousChecksum = fileChecksum;
+                fileDigest = digest;
+                fileChecksum = digest.getValue();
+                try {
+                    GameJsonWriter.write(catalogPath, content);
+                } catch (IOException e) {
+                    // The file was replaced atomically or not at all, so it still has the old checksum
+                    fileDigest = previousDigest;
+                    fileChecksum = previousChecksum;
+                    throw e;
                 }
+                appendableSnapshot = format == CatalogFormat.NDJSON ? current : null;
+                LOGGER.info("Successfully saved " + games.size() + " games to " + catalogPath);
+                return true;
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Error saving games to JSON file", e);
+                return false;
             }
-            writer.write("\n]");
-            LOGGER.info("Successfully saved " + games.size() + " games to " + JSON_FILE_PATH);
-            return true;
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Error saving games to JSON file", e);
-            return false;
         }
     }
 
     /**
-     * Converts a Game object to JSON string.
-     *
-     * @param game the game to convert
-     * @return JSON string representation of the game
+     * Defers saves until {@link #releaseSaves(boolean)} is called, so a catalog that
+     * is only partly imported is never written.
      */
-    private String gameToJson(Game game) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("  {\n");
-
-        // Add title
-        appendJsonString(sb, "title", game.getTitle(), true);
-
-        // Add developer
-        appendJsonString(sb, "developer", game.getDeveloper(), true);
-
-        // Add publisher
-        appendJsonString(sb, "publisher", game.getPublisher(), true);
-
-        // Add genres
-        appendJsonArray(sb, "genres", game.getGenres(), true);
-
-        // Add platforms
-        appendJsonArray(sb, "platforms", game.getPlatforms(), true);
-
-        // Add translators
-        appendJsonArray(sb, "translators", game.getTranslators(), true);
-
-        // Add steamId
-        appendJsonValue(sb, "steamId", game.getSteamId(), true);
-
-        // Add releaseYear
-        appendJsonValue(sb, "releaseYear", game.getReleaseYear(), true);
-
-        // Add language
-        appendJsonString(sb, "language", game.getLanguage(), true);
-
-        // Add rating
-        appendJsonValue(sb, "rating", game.getRating(), true);
+    void holdSaves() {
+        synchronized (fileLock) {
+            saveHolds++;
+        }
+    }
 
-        // Add tags
-        appendJsonArray(sb, "tags", game.getTags(), true);
+    /**
+     * Ends a hold taken by {@link #holdSaves()} and writes the catalog if it should be
+     * saved now or a save was deferred meanwhile. If other holds remain or the catalog
+     * is still loading, the save is deferred again.
+     *
+     * @param save true if the holder changed the catalog and wants it saved
+     * @return true if saved successfully, deferred or nothing had to be saved
+     */
+    boolean releaseSaves(boolean save) {
+        synchronized (fileLock) {
+            saveHolds--;
+            if (saveHolds > 0 || loading) {
+                saveDeferred |= save;
+                return true;
+            }
+            save |= saveDeferred;
+            saveDeferred = false;
+        }
+        return !save || saveUninterruptibly();
+    }
 
-        // Add coverImagePath
-        appendJsonString(sb, "coverImagePath", game.getCoverImagePath(), true);
+    /**
+     * Saves the catalog on a thread of its own. The holder releasing the saves may
+     * have been interrupted by a cancel, and an interrupt closes the file channel
+     * the catalog is written through.
+     */
+    private boolean saveUninterruptibly() {
+        boolean[] saved = new boolean[1];
+        Thread saver = new Thread(() -> saved[0] = saveGames(), "catalog-saver");
+        saver.start();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                saver.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return saved[0];
+    }
 
-        // Add descriptionPath (correcting the misspelling in the JSON)
-        appendJsonString(sb, "descriptionPath", game.getDescriptionPath(), false);
+    /**
+     * Appends games to the NDJSON file. Compressed files get one more GZIP member.
+     * Must be called while holding fileLock.
+     */
+    private boolean appendGames(CatalogSnapshot current, List<Game> added) {
+        if (added.isEmpty()) {
+            return true;
+        }
+        try {
+            ByteBuffer[] content = GameJsonWriter.encodeLines(added);
+            if (compressed) {
+                content = GameJsonWriter.compress(content);
+            }
+            // CRC32 cannot be copied, so keep the previous value to restore if the append fails
+            long previousChecksum = fileChecksum;
+            GameJsonWriter.updateChecksum(fileDigest, content);
+            fileChecksum = fileDigest.getValue();
+            try {
+                GameJsonWriter.append(catalogPath, content);
+            } catch (IOException e) {
+                fileChecksum = previousChecksum;
+                throw e;
+            }
+            appendableSnapshot = current;
+            LOGGER.info("Successfully appended " + added.size() + " games to " + catalogPath);
+            return true;
+        } catch (IOException e) {
+            // The file may end with a partial line now; the next save rewrites it and
+            // replaces the digest, which no longer matches the file
+            appendableSnapshot = null;
+            LOGGER.log(Level.SEVERE, "Error appending games to JSON file", e);
+            return false;
+        }
+    }
 
-        sb.append("\n  }");
-        return sb.toString();
+    /**
+     * Checks whether the catalog is stored GZIP-compressed.
+     *
+     * @return true if the catalog file is compressed
+     */
+    public boolean isCompressedStorage() {
+        return compressed;
     }
 
     /**
-     * Appends a JSON string field to the StringBuilder.
+     * Switches between plain and compressed (.gz) storage, keeping the layout.
+     * The catalog is saved in the new format and the file in the old format is removed.
+     * Refused while the catalog is still being loaded.
      *
-     * @param sb the StringBuilder to append to
-     * @param fieldName the field name
-     * @param value the value
-     * @param addComma whether to add a comma after the field
+     * @param compress true to store the catalog compressed
+     * @return true if the catalog was saved in the requested format
      */
-    private void appendJsonString(StringBuilder sb, String fieldName, String value, boolean addComma) {
-        sb.append("    \"").append(fieldName).append("\" : ");
-        if (value == null) {
-            sb.append("null");
-        } else {
-            sb.append("\"").append(value).append("\"");
-        }
-        if (addComma) {
-            sb.append(",");
-        }
-        sb.append("\n");
+    public boolean setCompressedStorage(boolean compress) {
+        return changeStorage(format, compress);
     }
 
     /**
-     * Appends a JSON value field to the StringBuilder.
+     * Returns the layout the catalog is stored in.
      *
-     * @param sb the StringBuilder to append to
-     * @param fieldName the field name
-     * @param value the value
-     * @param addComma whether to add a comma after the field
+     * @return the storage format
      */
-    private void appendJsonValue(StringBuilder sb, String fieldName, Object value, boolean addComma) {
-        sb.append("    \"").append(fieldName).append("\" : ");
-        if (value == null) {
-            sb.append("null");
-        } else {
-            sb.append(value);
-        }
-        if (addComma) {
-            sb.append(",");
-        }
-        sb.append("\n");
+    public CatalogFormat getStorageFormat() {
+        return format;
     }
 
     /**
-     * Appends a JSON array field to the StringBuilder.
+     * Converts the catalog file to another layout, e.g. from the JSON array in
+     * games_all.json to NDJSON in games_all.ndjson, keeping compression as it is.
+     * The file in the old layout is removed. Refused while the catalog is still being
+     * loaded.
      *
-     * @param sb the StringBuilder to append to
-     * @param fieldName the field name
-     * @param list the list of values
-     * @param addComma whether to add a comma after the field
+     * @param newFormat the layout to store the catalog in
+     * @return true if the catalog was saved in the requested layout
      */
-    private void appendJsonArray(StringBuilder sb, String fieldName, List<String> list, boolean addComma) {
-        sb.append("    \"").append(fieldName).append("\" : [");
-        if (list != null && !list.isEmpty()) {
-            for (int i = 0; i < list.size(); i++) {
-                sb.append(" \"").append(list.get(i)).append("\"");
-                if (i < list.size() - 1) {
-                    sb.append(",");
-                }
+    public boolean setStorageFormat(CatalogFormat newFormat) {
+        return changeStorage(newFormat, compressed);
+    }
+
+    private synchronized boolean changeStorage(CatalogFormat newFormat, boolean compress) {
+        if (newFormat == format && compress == compressed) {
+            return true;
+        }
+        Path previousPath = catalogPath;
+        CatalogFormat previousFormat = format;
+        boolean previousCompressed = compressed;
+        synchronized (fileLock) {
+            if (loading) {
+                // Saving now would replace the only complete copy with a partial catalog
+                LOGGER.warning("Catalog is still loading; storage format not changed");
+                return false;
+            }
+            catalogPath = catalogPathFor(newFormat, compress);
+            format = newFormat;
+            compressed = compress;
+            appendableSnapshot = null;
+            if (!saveGames()) {
+                catalogPath = previousPath;
+                format = previousFormat;
+                compressed = previousCompressed;
+                return false;
             }
-            sb.append(" ");
         }
-        sb.append("]");
-        if (addComma) {
-            sb.append(",");
+        if (!previousPath.equals(catalogPath)) {
+            try {
+                Files.deleteIfExists(previousPath);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Unable to remove " + previousPath, e);
+            }
+            if (watcher != null) {
+                startWatching();
+            }
         }
-        sb.append("\n");
+        return true;
     }
 
     /**
@@ -378,7 +731,7 @@ public class GameRepository {
      * @return the list of games
      */
     public List<Game> getAllGames() {
-        return new ArrayList<>(games);
+        return new ArrayList<>(snapshot.getGames());
     }
 
     /**
@@ -391,7 +744,12 @@ public class GameRepository {
         if (game == null) {
             return false;
         }
-        games.add(game);
+        synchronized (writeLock) {
+            List<Game> games = new ArrayList<>(snapshot.getGames());
+            games.add(game);
+            publish(games);
+            emit(CatalogChange.Type.ADDED, List.of(game), List.of());
+        }
         return true;
     }
 
@@ -403,10 +761,43 @@ public class GameRepository {
      * @return true if updated successfully, false if index is invalid
      */
     public boolean updateGame(int index, Game game) {
-        if (game == null || index < 0 || index >= games.size()) {
+        if (game == null) {
             return false;
         }
-        games.set(index, game);
+        synchronized (writeLock) {
+            List<Game> games = new ArrayList<>(snapshot.getGames());
+            if (index < 0 || index >= games.size()) {
+                return false;
+            }
+            Game previous = games.set(index, game);
+            publish(games, index, previous);
+            emit(CatalogChange.Type.UPDATED, List.of(game), List.of(previous));
+        }
+        return true;
+    }
+
+    /**
+     * Replaces a game in the repository. The existing game is located by identity,
+     * so the call is safe even if other writers have shifted indexes in the meantime.
+     *
+     * @param existing the game instance currently in the repository
+     * @param game the updated game data
+     * @return true if updated successfully, false if the game is no longer present
+     */
+    public boolean updateGame(Game existing, Game game) {
+        if (existing == null || game == null) {
+            return false;
+        }
+        synchronized (writeLock) {
+            List<Game> games = new ArrayList<>(snapshot.getGames());
+            int index = indexOfInstance(games, existing);
+            if (index < 0) {
+                return false;
+            }
+            games.set(index, game);
+            publish(games, index, existing);
+            emit(CatalogChange.Type.UPDATED, List.of(game), List.of(existing));
+        }
         return true;
     }
 
@@ -417,46 +808,308 @@ public class GameRepository {
      * @return true if removed successfully, false if index is invalid
      */
     public boolean removeGame(int index) {
-        if (index < 0 || index >= games.size()) {
+        synchronized (writeLock) {
+            List<Game> games = new ArrayList<>(snapshot.getGames());
+            if (index < 0 || index >= games.size()) {
+                return false;
+            }
+            Game removed = games.remove(index);
+            publish(games);
+            emit(CatalogChange.Type.REMOVED, List.of(removed), List.of());
+        }
+        return true;
+    }
+
+    /**
+     * Removes a game from the repository, locating it by identity.
+     *
+     * @param game the game instance currently in the repository
+     * @return true if removed successfully, false if the game is no longer present
+     */
+    public boolean removeGame(Game game) {
+        if (game == null) {
             return false;
         }
-        games.remove(index);
+        synchronized (writeLock) {
+            List<Game> games = new ArrayList<>(snapshot.getGames());
+            int index = indexOfInstance(games, game);
+            if (index < 0) {
+                return false;
+            }
+            games.remove(index);
+            publish(games);
+            emit(CatalogChange.Type.REMOVED, List.of(game), List.of());
+        }
         return true;
     }
 
+    /**
+     * Merges games into the repository by key in a single write. A game whose key
+     * matches a game already in the catalog replaces it in place, other games are
+     * appended. Games identical to the ones they would replace are skipped.
+     *
+     * @param batch the games to merge
+     * @return the changes that were applied; nothing is ever reported as removed
+     */
+    public CatalogDiff upsertGames(List<Game> batch) {
+        synchronized (writeLock) {
+            List<Game> current = snapshot.getGames();
+            int originalSize = current.size();
+            List<Game> games = new ArrayList<>(originalSize + batch.size());
+            games.addAll(current);
+            Map<String, Integer> indexByKey = new HashMap<>(games.size() * 2);
+            for (int i = 0; i < originalSize; i++) {
+                indexByKey.putIfAbsent(games.get(i).getKey(), i);
+            }
+
+            List<Game> added = new ArrayList<>();
+            List<Game> updated = new ArrayList<>();
+            List<Game> replaced = new ArrayList<>();
+            // Position in 'updated' of catalog entries already replaced by this batch
+            Map<Integer, Integer> updatedAt = new HashMap<>();
+            for (Game game : batch) {
+                Integer index = indexByKey.get(game.getKey());
+                if (index == null) {
+                    indexByKey.put(game.getKey(), games.size());
+                    games.add(game);
+                    added.add(game);
+                    continue;
+                }
+                Game existing = games.get(index);
+                if (GameJsonWriter.fingerprint(existing) == GameJsonWriter.fingerprint(game)) {
+                    continue;
+                }
+                games.set(index, game);
+                if (index >= originalSize) {
+                    // Repeated key within the batch: the later record wins
+                    added.set(index - originalSize, game);
+                } else if (updatedAt.containsKey(index)) {
+                    updated.set(updatedAt.get(index), game);
+                } else {
+                    updatedAt.put(index, updated.size());
+                    updated.add(game);
+                    replaced.add(existing);
+                }
+            }
+
+            CatalogDiff diff = new CatalogDiff(added, updated, List.of(), replaced);
+            if (!diff.isEmpty()) {
+                publish(games);
+                emit(CatalogChange.Type.UPDATED, updated, replaced);
+                emit(CatalogChange.Type.ADDED, added, List.of());
+            }
+            return diff;
+        }
+    }
+
+    /**
+     * Undoes writes by instance, e.g. those of a cancelled import. Each game still in
+     * the catalog that is a key of the map is put back to its original, or removed if
+     * it has none. Games other writers replaced or removed meanwhile are left alone,
+     * as are all other games.
+     *
+     * @param originals the written instances mapped to the ones they replaced, or to
+     *                  null for added games
+     */
+    void revertGames(Map<Game, Game> originals) {
+        if (originals.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            List<Game> current = snapshot.getGames();
+            List<Game> games = new ArrayList<>(current.size());
+            List<Game> restored = new ArrayList<>();
+            List<Game> reverted = new ArrayList<>();
+            List<Game> removed = new ArrayList<>();
+            for (Game game : current) {
+                if (!originals.containsKey(game)) {
+                    games.add(game);
+                    continue;
+                }
+                Game original = originals.get(game);
+                if (original == null) {
+                    removed.add(game);
+                } else {
+                    games.add(original);
+                    restored.add(original);
+                    reverted.add(game);
+                }
+            }
+            if (restored.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+            publish(games);
+            emit(CatalogChange.Type.UPDATED, restored, reverted);
+            emit(CatalogChange.Type.REMOVED, removed, List.of());
+        }
+    }
+
+    /**
+     * Finds the game with a Steam app id without scanning the catalog.
+     *
+     * @param steamId the Steam app id
+     * @return the game, or null if no game has the id
+     */
+    public Game findBySteamId(int steamId) {
+        return snapshot.findBySteamId(steamId);
+    }
+
+    /**
+     * Finds the games for a list of Steam app ids, e.g. to match store data against
+     * the catalog. All ids are looked up in the same snapshot.
+     *
+     * @param steamIds the Steam app ids
+     * @return the game for each id, in the same order, with null where no game has the id
+     */
+    public List<Game> findBySteamIds(int[] steamIds) {
+        return snapshot.findBySteamIds(steamIds);
+    }
+
+    /**
+     * Returns the near-duplicate index for the current snapshot, building it if there
+     * is none yet or too much has changed since it was built. Building takes a while,
+     * so this should not be called on the FX thread.
+     *
+     * @return the index over the current snapshot, or over one that was current while
+     *         the index was being built
+     */
+    DuplicateIndex getDuplicateIndex() {
+        synchronized (duplicateIndexBuild) {
+            CatalogSnapshot current;
+            synchronized (writeLock) {
+                if (duplicateIndex != null) {
+                    return duplicateIndex;
+                }
+                current = snapshot;
+            }
+            DuplicateIndex index = DuplicateIndex.build(current);
+            synchronized (writeLock) {
+                // Changes made during the build were not applied to it
+                if (snapshot == current) {
+                    duplicateIndex = index;
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Finds games in the catalog that are likely duplicates of a game, e.g. the same
+     * title with a different edition suffix or punctuation. The game itself is never
+     * reported if it is already in the catalog.
+     *
+     * @param game the game to check
+     * @return similar games, most similar first
+     */
+    public List<Game> findPossibleDuplicates(Game game) {
+        if (game == null) {
+            return new ArrayList<>();
+        }
+        return getDuplicateIndex().findSimilar(game);
+    }
+
+    /**
+     * Groups the whole catalog into clusters of likely duplicates.
+     *
+     * @param cancelled checked while the clusters are formed; stops the search once it returns true
+     * @return clusters of two or more games, largest first; empty if cancelled
+     */
+    public List<List<Game>> findDuplicateClusters(BooleanSupplier cancelled) {
+        return getDuplicateIndex().findClusters(cancelled);
+    }
+
+    /**
+     * Finds the position of a specific game instance.
+     *
+     * @param games the list to search
+     * @param game the instance to look for
+     * @return the index of the instance or -1 if not present
+     */
+    private static int indexOfInstance(List<Game> games, Game game) {
+        for (int i = 0; i < games.size(); i++) {
+            if (games.get(i) == game) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Gets the number of games in the repository.
      *
      * @return the number of games
      */
     public int getGameCount() {
-        return games.size();
+        return snapshot.size();
     }
 
     /**
-     * Gets all unique genres from the games in the repository.
+     * Runs a query against the current snapshot by intersecting its facet bitmaps.
+     * The result is resolved lazily, one window at a time, and is cached per query
+     * until the next write, so going back to a recent combination of filters and sort
+     * order costs nothing.
      *
-     * @return a list of unique genres
+     * @param query the filters and sort order to apply
+     * @return the result, which stays bound to the current snapshot
      */
-    public List<String> getAllGenres() {
-        List<String> allGenres = new ArrayList<>();
-
-        // Collect all genres from all games
-        for (Game game : games) {
-            List<String> genres = game.getGenres();
-            if (genres != null) {
-                for (String genre : genres) {
-                    if (!allGenres.contains(genre)) {
-                        allGenres.add(genre);
-                    }
-                }
+    public QueryResult query(GameQuery query) {
+        CatalogSnapshot current = snapshot;
+        QueryResult result = queryCache.get(query, current.getVersion());
+        if (result == null) {
+            FacetIndex index = current.getFacetIndex();
+            if (query.getSort() == GameSort.CATALOG) {
+                result = QueryResult.ofSelection(current.getGames(), index.selection(query));
+            } else {
+                // Sorted lazily: the first page costs a bounded-heap selection, not a full sort
+                result = QueryResult.ofSorted(current.getGames(), index.positions(query),
+                        query.getSort().positionOrder(current));
             }
+            queryCache.put(query, current.getVersion(), result);
+            LOGGER.fine(() -> "Query cache miss for " + query + ", " + queryCache);
         }
+        return result;
+    }
 
-        // Sort alphabetically for better user experience
-        allGenres.sort(String::compareToIgnoreCase);
+    /**
+     * Finds all games matching a query.
+     *
+     * @param query the filters and sort order to apply
+     * @return a new list of the matching games, in the order of the query
+     */
+    public List<Game> findGames(GameQuery query) {
+        return query(query).toList();
+    }
 
-        return allGenres;
+    /**
+     * Returns the share of {@link #query(GameQuery)} calls answered from the
+     * result cache since the repository was created.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getQueryCacheHitRate() {
+        return queryCache.getHitRate();
+    }
+
+    /**
+     * Counts how many games each value of a facet would leave if it were chosen on
+     * top of the other filters of a query. Values that would leave no games are
+     * omitted, so they can be hidden as dead ends.
+     *
+     * @param facet the facet to count
+     * @param query the active filters; its own filter for the facet is ignored
+     * @return the remaining values and their game counts, sorted alphabetically
+     */
+    public Map<String, Integer> getFacetCounts(Facet facet, GameQuery query) {
+        return snapshot.getFacetIndex().counts(facet, query);
+    }
+
+    /**
+     * Gets all unique genres from the games in the repository.
+     *
+     * @return a list of unique genres
+     */
+    public List<String> getAllGenres() {
+        return snapshot.getFacetIndex().values(Facet.GENRE);
     }
 
     /**
@@ -466,6 +1119,7 @@ public class GameRepository {
      * @return a list of games with the specified genre
      */
     public List<Game> getGamesByGenre(String genre) {
+        List<Game> games = snapshot.getGames();
         if (genre == null || genre.isEmpty()) {
             return new ArrayList<>(games); // Return all games if no genre specified
         }
@@ -488,24 +1142,7 @@ public class GameRepository {
      * @return a list of unique platforms
      */
     public List<String> getAllPlatforms() {
-        List<String> allPlatforms = new ArrayList<>();
-
-        // Collect all platforms from all games
-        for (Game game : games) {
-            List<String> platforms = game.getPlatforms();
-            if (platforms != null) {
-                for (String platform : platforms) {
-                    if (!allPlatforms.contains(platform)) {
-                        allPlatforms.add(platform);
-                    }
-                }
-            }
-        }
-
-        // Sort alphabetically for better user experience
-        allPlatforms.sort(String::compareToIgnoreCase);
-
-        return allPlatforms;
+        return snapshot.getFacetIndex().values(Facet.PLATFORM);
     }
 
     /**
@@ -514,24 +1151,7 @@ public class GameRepository {
      * @return a list of unique tags
      */
     public List<String> getAllTags() {
-        List<String> allTags = new ArrayList<>();
-
-        // Collect all tags from all games
-        for (Game game : games) {
-            List<String> tags = game.getTags();
-            if (tags != null) {
-                for (String tag : tags) {
-                    if (!allTags.contains(tag)) {
-                        allTags.add(tag);
-                    }
-                }
-            }
-        }
-
-        // Sort alphabetically for better user experience
-        allTags.sort(String::compareToIgnoreCase);
-
-        return allTags;
+        return snapshot.getFacetIndex().values(Facet.TAG);
     }
 
     /**
@@ -541,6 +1161,7 @@ public class GameRepository {
      * @return a list of games with the specified platform
      */
     public List<Game> getGamesByPlatform(String platform) {
+        List<Game> games = snapshot.getGames();
         if (platform == null || platform.isEmpty()) {
             return new ArrayList<>(games); // Return all games if no platform specified
         }
@@ -564,6 +1185,7 @@ public class GameRepository {
      * @return a list of games with the specified tag
      */
     public List<Game> getGamesByTag(String tag) {
+        List<Game> games = snapshot.getGames();
         if (tag == null || tag.isEmpty()) {
             return new ArrayList<>(games); // Return all games if no tag specified
         }
@@ -586,20 +1208,7 @@ public class GameRepository {
      * @return a list of unique publishers
      */
     public List<String> getAllPublishers() {
-        List<String> allPublishers = new ArrayList<>();
-
-        // Collect all publishers from all games
-        for (Game game : games) {
-            String publisher = game.getPublisher();
-            if (publisher != null && !publisher.isEmpty() && !allPublishers.contains(publisher)) {
-                allPublishers.add(publisher);
-            }
-        }
-
-        // Sort alphabetically for better user experience
-        allPublishers.sort(String::compareToIgnoreCase);
-
-        return allPublishers;
+        return snapshot.getFacetIndex().values(Facet.PUBLISHER);
     }
 
     /**
@@ -608,20 +1217,7 @@ public class GameRepository {
      * @return a list of unique developers
      */
     public List<String> getAllDevelopers() {
-        List<String> allDevelopers = new ArrayList<>();
-
-        // Collect all developers from all games
-        for (Game game : games) {
-            String developer = game.getDeveloper();
-            if (developer != null && !developer.isEmpty() && !allDevelopers.contains(developer)) {
-                allDevelopers.add(developer);
-            }
-        }
-
-        // Sort alphabetically for better user experience
-        allDevelopers.sort(String::compareToIgnoreCase);
-
-        return allDevelopers;
+        return snapshot.getFacetIndex().values(Facet.DEVELOPER);
     }
 
     /**
@@ -630,13 +1226,11 @@ public class GameRepository {
      * @return the maximum release year or current year if none found
      */
     public int getMaxReleaseYear() {
+        RangeIndex years = snapshot.getReleaseYearIndex();
         int maxYear = java.time.Year.now().getValue(); // Default to current year
 
-        for (Game game : games) {
-            Integer releaseYear = game.getReleaseYear();
-            if (releaseYear != null && releaseYear > maxYear) {
-                maxYear = releaseYear;
-            }
+        if (years.size() > 0) {
+            maxYear = Math.max(maxYear, (int) years.max());
         }
 
         return maxYear;
@@ -648,21 +1242,10 @@ public class GameRepository {
      * @return the minimum release year or 1970 if none found
      */
     public int getMinReleaseYear() {
-        int minYear = 2025; // Start with a high value
-
-        for (Game game : games) {
-            Integer releaseYear = game.getReleaseYear();
-            if (releaseYear != null && releaseYear < minYear) {
-                minYear = releaseYear;
-            }
-        }
+        RangeIndex years = snapshot.getReleaseYearIndex();
 
         // If no release years were found, default to 1970
-        if (minYear == 2025) {
-            minYear = 1970;
-        }
-
-        return minYear;
+        return years.size() > 0 ? (int) years.min() : 1970;
     }
 
     /**
@@ -672,6 +1255,7 @@ public class GameRepository {
      * @return a list of games with the specified publisher
      */
     public List<Game> getGamesByPublisher(String publisher) {
+        List<Game> games = snapshot.getGames();
         if (publisher == null || publisher.isEmpty()) {
             return new ArrayList<>(games); // Return all games if no publisher specified
         }
@@ -695,6 +1279,7 @@ public class GameRepository {
      * @return a list of games with the specified developer
      */
     public List<Game> getGamesByDeveloper(String developer) {
+        List<Game> games = snapshot.getGames();
         if (developer == null || developer.isEmpty()) {
             return new ArrayList<>(games); // Return all games if no developer specified
         }
@@ -719,16 +1304,51 @@ public class GameRepository {
      * @return a list of games with release years within the specified range
      */
     public List<Game> getGamesByYearRange(int startYear, int endYear) {
-        List<Game> filteredGames = new ArrayList<>();
+        CatalogSnapshot current = snapshot;
+        return current.gamesAt(current.getReleaseYearIndex().positions(startYear, endYear));
+    }
 
-        for (Game game : games) {
-            Integer releaseYear = game.getReleaseYear();
-            if (releaseYear != null && releaseYear >= startYear && releaseYear <= endYear) {
-                filteredGames.add(game);
-            }
-        }
+    /**
+     * Counts the games released within a year range.
+     *
+     * @param startYear the start year (inclusive)
+     * @param endYear the end year (inclusive)
+     * @return the number of games released within the range
+     */
+    public int countGamesByYearRange(int startYear, int endYear) {
+        return snapshot.getReleaseYearIndex().count(startYear, endYear);
+    }
 
-        return filteredGames;
+    /**
+     * Splits the release years of the catalog into ranges holding roughly equal
+     * numbers of games, so that busy periods get narrower ranges than quiet ones.
+     *
+     * @param maxRanges the maximum number of ranges
+     * @return the ranges as {start year, end year, game count}, oldest first
+     */
+    public List<int[]> getReleaseYearHistogram(int maxRanges) {
+        return snapshot.getReleaseYearIndex().buckets(maxRanges);
+    }
+
+    /**
+     * Gets games rated at or above a threshold.
+     *
+     * @param minRating the minimum rating (inclusive)
+     * @return a list of games with at least that rating, in catalog order
+     */
+    public List<Game> getGamesByMinRating(double minRating) {
+        CatalogSnapshot current = snapshot;
+        return current.gamesAt(current.getRatingIndex().positions(minRating, Double.POSITIVE_INFINITY));
+    }
+
+    /**
+     * Counts the games rated at or above a threshold.
+     *
+     * @param minRating the minimum rating (inclusive)
+     * @return the number of games with at least that rating
+     */
+    public int countGamesByMinRating(double minRating) {
+        return snapshot.getRatingIndex().count(minRating, Double.POSITIVE_INFINITY);
     }
 
     /**
@@ -737,18 +1357,7 @@ public class GameRepository {
      * @return a list of games sorted by title in ascending order
      */
     public List<Game> getGamesSortedByTitleAsc() {
-        List<Game> sortedGames = new ArrayList<>(games);
-        sortedGames.sort((g1, g2) -> {
-            if (g1.getTitle() == null && g2.getTitle() == null) {
-                return 0;
-            } else if (g1.getTitle() == null) {
-                return -1;
-            } else if (g2.getTitle() == null) {
-                return 1;
-            }
-            return g1.getTitle().compareToIgnoreCase(g2.getTitle());
-        });
-        return sortedGames;
+        return findGames(GameQuery.ALL.withSort(GameSort.TITLE_ASC));
     }
 
     /**
@@ -757,18 +1366,7 @@ public class GameRepository {
      * @return a list of games sorted by title in descending order
      */
     public List<Game> getGamesSortedByTitleDesc() {
-        List<Game> sortedGames = new ArrayList<>(games);
-        sortedGames.sort((g1, g2) -> {
-            if (g1.getTitle() == null && g2.getTitle() == null) {
-                return 0;
-            } else if (g1.getTitle() == null) {
-                return 1;
-            } else if (g2.getTitle() == null) {
-                return -1;
-            }
-            return g2.getTitle().compareToIgnoreCase(g1.getTitle());
-        });
-        return sortedGames;
+        return findGames(GameQuery.ALL.withSort(GameSort.TITLE_DESC));
     }
 
     /**
@@ -777,18 +1375,7 @@ public class GameRepository {
      * @return a list of games sorted by release year in ascending order
      */
     public List<Game> getGamesSortedByYearAsc() {
-        List<Game> sortedGames = new ArrayList<>(games);
-        sortedGames.sort((g1, g2) -> {
-            if (g1.getReleaseYear() == null && g2.getReleaseYear() == null) {
-                return 0;
-            } else if (g1.getReleaseYear() == null) {
-                return -1;
-            } else if (g2.getReleaseYear() == null) {
-                return 1;
-            }
-            return g1.getReleaseYear().compareTo(g2.getReleaseYear());
-        });
-        return sortedGames;
+        return findGames(GameQuery.ALL.withSort(GameSort.YEAR_ASC));
     }
 
     /**
@@ -797,18 +1384,7 @@ public class GameRepository {
      * @return a list of games sorted by release year in descending order
      */
     public List<Game> getGamesSortedByYearDesc() {
-        List<Game> sortedGames = new ArrayList<>(games);
-        sortedGames.sort((g1, g2) -> {
-            if (g1.getReleaseYear() == null && g2.getReleaseYear() == null) {
-                return 0;
-            } else if (g1.getReleaseYear() == null) {
-                return 1;
-            } else if (g2.getReleaseYear() == null) {
-                return -1;
-            }
-            return g2.getReleaseYear().compareTo(g1.getReleaseYear());
-        });
-        return sortedGames;
+        return findGames(GameQuery.ALL.withSort(GameSort.YEAR_DESC));
     }
 
     /**
@@ -818,6 +1394,7 @@ public class GameRepository {
      * @return a list of games with titles containing the search term
      */
     public List<Game> searchGamesByTitle(String searchTerm) {
+        List<Game> games = snapshot.getGames();
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return new ArrayList<>(games); // Return all games if search term is empty
         }
@@ -0,0 +1,79 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Orders in which catalog views can list games. Sorts are stable, so games that
+ * compare equal keep their catalog order. Titles are compared by their
+ * {@link TitleKey}, i.e. ignoring case, accents and a leading "The ", with numbers
+ * in numeric order.
+ */
+public enum GameSort {
+    /** Catalog order, i.e. the order of the catalog file. */
+    CATALOG(null),
+    /** Title A-Z; games without a title first. Compares the snapshot's title keys. */
+    TITLE_ASC(null),
+    /** Title Z-A; games without a title last. Compares the snapshot's title keys. */
+    TITLE_DESC(null),
+    /** Oldest first; games without a release year first. */
+    YEAR_ASC((g1, g2) -> {
+        if (g1.getReleaseYear() == null && g2.getReleaseYear() == null) {
+            return 0;
+        } else if (g1.getReleaseYear() == null) {
+            return -1;
+        } else if (g2.getReleaseYear() == null) {
+            return 1;
+        }
+        return g1.getReleaseYear().compareTo(g2.getReleaseYear());
+    }),
+    /** Newest first; games without a release year last. */
+    YEAR_DESC((g1, g2) -> {
+        if (g1.getReleaseYear() == null && g2.getReleaseYear() == null) {
+            return 0;
+        } else if (g1.getReleaseYear() == null) {
+            return 1;
+        } else if (g2.getReleaseYear() == null) {
+            return -1;
+        }
+        return g2.getReleaseYear().compareTo(g1.getReleaseYear());
+    });
+
+    // Comparison of two games, or null if the order is not computed from game fields
+    private final Comparator<Game> comparator;
+
+    GameSort(Comparator<Game> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns this order as a comparison of snapshot positions. Title orders compare
+     * the precomputed keys of the snapshot instead of computing them per comparison.
+     *
+     * @param snapshot the snapshot the positions refer to
+     * @return the comparison, or null for catalog order
+     */
+    IntBinaryOperator positionOrder(CatalogSnapshot snapshot) {
+        if (this == TITLE_ASC || this == TITLE_DESC) {
+            String[] keys = snapshot.getTitleKeys();
+            return this == TITLE_ASC
+                    ? (a, b) -> compareKeys(keys[a], keys[b])
+                    : (a, b) -> compareKeys(keys[b], keys[a]);
+        }
+        if (comparator == null) {
+            return null;
+        }
+        List<Game> games = snapshot.getGames();
+        return (a, b) -> comparator.compare(games.get(a), games.get(b));
+    }
+
+    private static int compareKeys(String key1, String key2) {
+        if (key1 == null) {
+            return key2 == null ? 0 : -1;
+        }
+        return key2 == null ? 1 : key1.compareTo(key2);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.gamecatalog.repository;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Snapshot positions that are sorted only as far as they have been read.
+ * The array keeps a sorted prefix followed by the unsorted rest. Extending the
+ * prefix by k games selects them from the rest with a bounded heap in O(r log k)
+ * and sorts just those, so showing the first page of a sorted view never sorts the
+ * whole catalog. The rest is sorted in one go only once a request reaches deep
+ * enough into it that selection would no longer pay off.
+ * <p>
+ * The order is total: games that compare equal are ordered by position, which makes
+ * the result identical to a stable sort of the catalog.
+ */
+final class PartialSort {
+    // The prefix grows at least to this size, so paging forward is amortized
+    private static final int MIN_PREFIX = 256;
+    // Sort the rest outright once a request needs more than this share of it
+    private static final int FULL_SORT_DIVISOR = 8;
+    // Ranges up to this length are insertion sorted
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    private final IntBinaryOperator order;
+    private final int[] positions;
+    private int sorted;
+
+    /**
+     * Creates a partial sort over matching positions.
+     *
+     * @param positions the positions to order; taken over, not copied
+     * @param order the comparison of two positions
+     */
+    PartialSort(int[] positions, IntBinaryOperator order) {
+        this.positions = positions;
+        this.order = order;
+    }
+
+    /**
+     * Returns the number of positions.
+     *
+     * @return the size
+     */
+    int size() {
+        return positions.length;
+    }
+
+    /**
+     * Returns a range of the sorted order, sorting as far as needed.
+     *
+     * @param from the first index in sorted order, inclusive
+     * @param to the last index in sorted order, exclusive
+     * @return the snapshot positions of the range
+     */
+    synchronized int[] range(int from, int to) {
+        ensureSorted(to);
+        return Arrays.copyOfRange(positions, from, to);
+    }
+
+    /**
+     * Makes sure that at least the first count positions are in their final order.
+     *
+     * @param count the number of positions needed
+     */
+    synchronized void ensureSorted(int count) {
+        if (count <= sorted) {
+            return;
+        }
+        int remaining = positions.length - sorted;
+        int target = Math.min(positions.length, Math.max(count, Math.max(MIN_PREFIX, 2 * sorted)));
+        int take = target - sorted;
+        if (take >= remaining || take * FULL_SORT_DIVISOR >= remaining) {
+            sortRange(sorted, positions.length);
+            sorted = positions.length;
+            return;
+        }
+
+        // Keep the take smallest of the rest in a max-heap; its top is the largest kept
+        int[] heap = new int[take];
+        int heapSize = 0;
+        for (int i = sorted; i < positions.length; i++) {
+            int position = positions[i];
+            if (heapSize < take) {
+                heap[heapSize] = position;
+                siftUp(heap, heapSize++);
+            } else if (compare(position, heap[0]) < 0) {
+                heap[0] = position;
+                siftDown(heap, 0, 0, heapSize);
+            }
+        }
+
+        // The order is total, so exactly the kept positions compare at or below the top
+        int threshold = heap[0];
+        int write = sorted;
+        int[] rest = new int[remaining - take];
+        int restSize = 0;
+        for (int i = sorted; i < positions.length; i++) {
+            int position = positions[i];
+            if (compare(position, threshold) <= 0) {
+                positions[write++] = position;
+            } else {
+                rest[restSize++] = position;
+            }
+        }
+        System.arraycopy(rest, 0, positions, write, restSize);
+        sortRange(sorted, target);
+        sorted = target;
+    }
+
+    /**
+     * Sorts positions[from, to) in place without boxing: quicksort with median-of-three
+     * pivots, insertion sort for short ranges, and heapsort where partitioning keeps
+     * going badly.
+     */
+    private void sortRange(int from, int to) {
+        quickSort(from, to, 2 * (32 - Integer.numberOfLeadingZeros(to - from)));
+    }
+
+    private void quickSort(int from, int to, int depth) {
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            orderPair(from, mid);
+            orderPair(mid, to - 1);
+            orderPair(from, mid);
+            int pivot = positions[mid];
+
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (compare(positions[i], pivot) < 0) {
+                    i++;
+                }
+                while (compare(positions[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Recurse into the smaller side and loop on the larger, bounding the stack
+            if (j + 1 - from < to - i) {
+                quickSort(from, j + 1, depth);
+                from = i;
+            } else {
+                quickSort(i, to, depth);
+                to = j + 1;
+            }
+        }
+        insertionSort(from, to);
+    }
+
+    private void insertionSort(int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = positions[i];
+            int j = i - 1;
+            while (j >= from && compare(positions[j], value) > 0) {
+                positions[j + 1] = positions[j];
+                j--;
+            }
+            positions[j + 1] = value;
+        }
+    }
+
+    private void heapSort(int from, int to) {
+        int size = to - from;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(positions, from, i, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(from, from + end);
+            siftDown(positions, from, 0, end);
+        }
+    }
+
+    private void orderPair(int a, int b) {
+        if (compare(positions[a], positions[b]) > 0) {
+            swap(a, b);
+        }
+    }
+
+    private void swap(int a, int b) {
+        int value = positions[a];
+        positions[a] = positions[b];
+        positions[b] = value;
+    }
+
+    private int compare(int a, int b) {
+        int result = order.applyAsInt(a, b);
+        return result != 0 ? result : Integer.compare(a, b);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        int value = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(heap[parent], value) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = value;
+    }
+
+    /**
+     * Restores the max-heap below an index of a heap stored at heap[base, base + size).
+     */
+    private void siftDown(int[] heap, int base, int index, int size) {
+        int value = heap[base + index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(heap[base + child + 1], heap[base + child]) > 0) {
+                child++;
+            }
+            if (compare(heap[base + child], value) <= 0) {
+                break;
+            }
+            heap[base + index] = heap[base + child];
+            index = child;
+        }
+        heap[base + index] = value;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.gamecatalog.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of query results.
+ * The cache is stamped with the version of the snapshot its results belong to; a
+ * lookup for any other version empties it, so a write invalidates every result
+ * without visiting them.
+ */
+final class QueryCache {
+    private final int capacity;
+    private final Map<GameQuery, QueryResult> results;
+    private long version = -1;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum number of results kept
+     */
+    QueryCache(int capacity) {
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<>(capacity * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<GameQuery, QueryResult> eldest) {
+                return size() > QueryCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Looks up the result of a query.
+     *
+     * @param query the query
+     * @param snapshotVersion the version of the snapshot the result must belong to
+     * @return the result, or null on a miss
+     */
+    synchronized QueryResult get(GameQuery query, long snapshotVersion) {
+        if (version != snapshotVersion) {
+            results.clear();
+            version = snapshotVersion;
+        }
+        QueryResult result = results.get(query);
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    /**
+     * Stores the result of a query. Results for an outdated snapshot are dropped.
+     *
+     * @param query the query
+     * @param snapshotVersion the version of the snapshot the result belongs to
+     * @param result the result of the query on that snapshot
+     */
+    synchronized void put(GameQuery query, long snapshotVersion, QueryResult result) {
+        if (version == snapshotVersion) {
+            results.put(query, result);
+        }
+    }
+
+    /**
+     * Returns the share of lookups that were answered from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 before the first lookup
+     */
+    synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "QueryCache[size=" + results.size() + ", hits=" + hits + ", misses=" + misses + "]";
+    }
+}
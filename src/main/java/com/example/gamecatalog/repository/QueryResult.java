@@ -0,0 +1,212 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * The games matching a query, resolved lazily one window at a time.
+ * Results in catalog order keep just the bitmap of matching snapshot positions, so
+ * their size is its cardinality and a page is found by skipping whole words; sorted
+ * results keep the matching positions and sort them only as far as windows are
+ * requested. Either way, no list of games is built until a window is requested, and
+ * a window only holds the games it covers.
+ * <p>
+ * A result is immutable and keeps answering from the snapshot it was computed on.
+ * {@link #replacing(List, List)} derives a result that shows new versions of updated
+ * games in the places of the old ones, without running the query again.
+ */
+public final class QueryResult {
+    private final List<Game> games;
+    // Matching positions in catalog order, or null
+    private final long[] selection;
+    // Matching positions in result order, sorted on demand, or null
+    private final PartialSort order;
+    private final int size;
+    // Newer versions of games updated since the result was computed, or null
+    private final Replacements replacements;
+
+    private QueryResult(List<Game> games, long[] selection, PartialSort order, int size) {
+        this(games, selection, order, size, null);
+    }
+
+    private QueryResult(List<Game> games, long[] selection, PartialSort order, int size,
+                        Replacements replacements) {
+        this.games = games;
+        this.selection = selection;
+        this.order = order;
+        this.size = size;
+        this.replacements = replacements;
+    }
+
+    /**
+     * Creates a result in catalog order from a bitmap of snapshot positions.
+     *
+     * @param games the snapshot games
+     * @param selection bit i is set if the game at position i matches; must not be modified afterwards
+     * @return the result
+     */
+    static QueryResult ofSelection(List<Game> games, long[] selection) {
+        int size = 0;
+        for (long bits : selection) {
+            size += Long.bitCount(bits);
+        }
+        return new QueryResult(games, selection, null, size);
+    }
+
+    /**
+     * Creates a sorted result from matching snapshot positions. The positions are
+     * only sorted as far as windows of the result are requested.
+     *
+     * @param games the snapshot games
+     * @param positions the matching positions; taken over, not copied
+     * @param order the comparison of two positions, see {@link GameSort#positionOrder}
+     * @return the result
+     */
+    static QueryResult ofSorted(List<Game> games, int[] positions, IntBinaryOperator order) {
+        return new QueryResult(games, null, new PartialSort(positions, order), positions.length);
+    }
+
+    /**
+     * Creates a result listing the given games in the given order, e.g. for views that
+     * are not computed from a query.
+     *
+     * @param games the games
+     * @return the result
+     */
+    public static QueryResult of(List<Game> games) {
+        return new QueryResult(Collections.unmodifiableList(new ArrayList<>(games)), null, null, games.size());
+    }
+
+    /**
+     * Derives a result in which updated games appear in place of the versions they
+     * replaced. Positions and size stay as they are, even if an update means a game
+     * would no longer match or sort elsewhere; running the query again gives the
+     * exact result.
+     *
+     * @param previousGames the replaced instances
+     * @param newGames the new versions, in the same order
+     * @return the derived result; this result is left unchanged
+     */
+    public QueryResult replacing(List<Game> previousGames, List<Game> newGames) {
+        Map<Game, Game> versions = new IdentityHashMap<>();
+        for (int i = 0; i < previousGames.size(); i++) {
+            versions.put(previousGames.get(i), newGames.get(i));
+        }
+        return new QueryResult(games, selection, order, size, Replacements.push(replacements, versions));
+    }
+
+    /**
+     * Returns the number of matching games.
+     *
+     * @return the result size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether no game matches.
+     *
+     * @return true if the result is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a window of the result.
+     *
+     * @param offset the index of the first game of the window
+     * @param limit the maximum number of games in the window
+     * @return the games of the window, in result order; empty if the offset is past the end
+     */
+    public List<Game> getRange(int offset, int limit) {
+        int end = (int) Math.min(size, (long) offset + limit);
+        if (offset < 0 || offset >= end) {
+            return new ArrayList<>();
+        }
+        List<Game> window = new ArrayList<>(end - offset);
+        if (order != null) {
+            for (int position : order.range(offset, end)) {
+                window.add(games.get(position));
+            }
+        } else if (selection != null) {
+            // Skip whole words until the word holding the first game of the window
+            int word = 0;
+            int skip = offset;
+            while (skip >= Long.bitCount(selection[word])) {
+                skip -= Long.bitCount(selection[word]);
+                word++;
+            }
+            long bits = selection[word];
+            for (; skip > 0; skip--) {
+                bits &= bits - 1;
+            }
+            while (window.size() < end - offset) {
+                while (bits == 0) {
+                    bits = selection[++word];
+                }
+                window.add(games.get((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        } else {
+            window.addAll(games.subList(offset, end));
+        }
+        if (replacements != null) {
+            window.replaceAll(replacements::newest);
+        }
+        return window;
+    }
+
+    /**
+     * Returns all matching games.
+     *
+     * @return a new list of the games, in result order
+     */
+    public List<Game> toList() {
+        return getRange(0, size);
+    }
+
+    /**
+     * Replacements made by a run of updates, on top of those made before them. Layers
+     * are shared between derived results and never modified. A new layer absorbs the
+     * layers below it that are no larger, so a long run of single updates costs
+     * logarithmic time per game updated and a lookup follows few layers.
+     */
+    private static final class Replacements {
+        private final Replacements parent;
+        // Newer versions by the instance they replaced, as of the parent's versions
+        private final Map<Game, Game> versions;
+
+        private Replacements(Replacements parent, Map<Game, Game> versions) {
+            this.parent = parent;
+            this.versions = versions;
+        }
+
+        static Replacements push(Replacements top, Map<Game, Game> versions) {
+            while (top != null && top.versions.size() <= versions.size()) {
+                Map<Game, Game> merged = new IdentityHashMap<>(top.versions);
+                // Games updated again are followed to their newest version
+                Map<Game, Game> newer = versions;
+                merged.replaceAll((original, current) -> newer.getOrDefault(current, current));
+                for (Map.Entry<Game, Game> entry : versions.entrySet()) {
+                    merged.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+                versions = merged;
+                top = top.parent;
+            }
+            return new Replacements(top, versions);
+        }
+
+        Game newest(Game game) {
+            Game current = parent != null ? parent.newest(game) : game;
+            return versions.getOrDefault(current, current);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sorted index over one numeric attribute of the games in a snapshot, such as the
+ * release year or the rating. Games without a value are left out. Counting the games
+ * in a range takes two binary searches; listing them additionally touches only the
+ * games in the range.
+ * <p>
+ * An index is immutable once built and belongs to the snapshot it was built for.
+ */
+final class RangeIndex {
+    // Attribute values in ascending order
+    private final double[] values;
+    // Snapshot position of the game holding values[i]; ties are in catalog order
+    private final int[] positions;
+
+    private RangeIndex(double[] values, int[] positions) {
+        this.values = values;
+        this.positions = positions;
+    }
+
+    /**
+     * Builds an index over one attribute of a list of games.
+     *
+     * @param games the games in snapshot order
+     * @param attribute extracts the attribute, returning null for games without one
+     * @return the index
+     */
+    static RangeIndex build(List<Game> games, Function<Game, ? extends Number> attribute) {
+        // Sort (value, position) pairs packed into longs to avoid boxing: the high half
+        // holds the value as a float encoded so that signed order matches numeric order
+        double[] byPosition = new double[games.size()];
+        long[] packed = new long[games.size()];
+        int count = 0;
+        for (int position = 0; position < games.size(); position++) {
+            Number value = attribute.apply(games.get(position));
+            if (value != null && !Double.isNaN(value.doubleValue())) {
+                byPosition[position] = value.doubleValue();
+                int bits = Float.floatToIntBits((float) value.doubleValue());
+                if (bits < 0) {
+                    bits ^= Integer.MAX_VALUE;
+                }
+                packed[count++] = ((long) bits << 32) | position;
+            }
+        }
+        Arrays.parallelSort(packed, 0, count);
+
+        double[] values = new double[count];
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            int position = (int) packed[i];
+            double value = byPosition[position];
+            // Doubles that round to the same float may still be out of order; the
+            // array is sorted apart from those, so moving them into place is cheap
+            int j = i;
+            while (j > 0 && values[j - 1] > value) {
+                values[j] = values[j - 1];
+                positions[j] = positions[j - 1];
+                j--;
+            }
+            values[j] = value;
+            positions[j] = position;
+        }
+        return new RangeIndex(values, positions);
+    }
+
+    /**
+     * Returns the number of games with a value.
+     *
+     * @return the number of indexed games
+     */
+    int size() {
+        return values.length;
+    }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return the smallest value, or NaN if no game has a value
+     */
+    double min() {
+        return values.length == 0 ? Double.NaN : values[0];
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the largest value, or NaN if no game has a value
+     */
+    double max() {
+        return values.length == 0 ? Double.NaN : values[values.length - 1];
+    }
+
+    /**
+     * Counts the games whose value lies in a closed range.
+     *
+     * @param min the lower bound, inclusive
+     * @param max the upper bound, inclusive
+     * @return the number of games in the range
+     */
+    int count(double min, double max) {
+        return Math.max(0, upperBound(max) - lowerBound(min));
+    }
+
+    /**
+     * Returns the snapshot positions of the games whose value lies in a closed range.
+     *
+     * @param min the lower bound, inclusive
+     * @param max the upper bound, inclusive
+     * @return the positions in ascending order, i.e. in catalog order
+     */
+    int[] positions(double min, double max) {
+        int from = lowerBound(min);
+        int to = upperBound(max);
+        if (from >= to) {
+            return new int[0];
+        }
+        int[] result = Arrays.copyOfRange(positions, from, to);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Splits the value range into at most a number of consecutive buckets holding
+     * roughly equal numbers of games. Bucket boundaries fall on whole numbers, so
+     * all games with the same whole value land in the same bucket.
+     *
+     * @param maxBuckets the maximum number of buckets
+     * @return the buckets as {first value, last value, game count}, in ascending order
+     */
+    List<int[]> buckets(int maxBuckets) {
+        List<int[]> buckets = new ArrayList<>();
+        if (values.length == 0) {
+            return buckets;
+        }
+        int target = Math.max(1, (values.length + maxBuckets - 1) / maxBuckets);
+        int start = 0;
+        while (start < values.length) {
+            int first = (int) Math.floor(values[start]);
+            // Grow the bucket one whole value at a time until it is full
+            int end = start;
+            int last = first;
+            while (end < values.length && end - start < target) {
+                last = (int) Math.floor(values[end]);
+                end = lowerBound(last + 1);
+            }
+            buckets.add(new int[]{first, last, end - start});
+            start = end;
+        }
+        // Fold a small remainder into the bucket before it
+        int lastIndex = buckets.size() - 1;
+        if (lastIndex > 0 && buckets.get(lastIndex)[2] < target / 2) {
+            int[] remainder = buckets.remove(lastIndex);
+            int[] previous = buckets.get(lastIndex - 1);
+            previous[1] = remainder[1];
+            previous[2] += remainder[2];
+        }
+        return buckets;
+    }
+
+    /**
+     * Returns the index of the first value that is not below a bound.
+     */
+    private int lowerBound(double bound) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first value above a bound.
+     */
+    private int upperBound(double bound) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Maps Steam app ids to positions in a catalog snapshot.
+ * An open-addressing hash table with linear probing over a single int array that
+ * interleaves keys and positions, so an id is found without boxing and usually
+ * within one cache line. If several games share an id, the first one wins.
+ * <p>
+ * An index is immutable once built and belongs to the snapshot it was built for.
+ * Appending games or replacing one game copies the table and patches it; any other
+ * change to the catalog rebuilds it, which costs about as much as copying a list
+ * of that many games once more.
+ */
+final class SteamIdIndex {
+    private static final int MIN_CAPACITY = 16;
+    // Arrays of ids longer than this are looked up in parallel
+    private static final int PARALLEL_LOOKUP_THRESHOLD = 1 << 16;
+
+    // table[2 * i] holds a Steam id, table[2 * i + 1] its position + 1, or 0 if the entry is free
+    private final int[] table;
+    private final int mask;
+    private final int size;
+    // Number of games of the snapshot that have been indexed, and how many of them have an id
+    private final int indexedCount;
+    private final int idCount;
+
+    private SteamIdIndex(int[] table, int size, int indexedCount, int idCount) {
+        this.table = table;
+        this.mask = table.length / 2 - 1;
+        this.size = size;
+        this.indexedCount = indexedCount;
+        this.idCount = idCount;
+    }
+
+    /**
+     * Builds an index over a list of games.
+     *
+     * @param games the games in snapshot order
+     * @return the index
+     */
+    static SteamIdIndex build(List<Game> games) {
+        int[] table = new int[2 * capacityFor(games.size())];
+        int size = insertAll(table, games, 0);
+        return new SteamIdIndex(table, size, games.size(), countIds(games, 0));
+    }
+
+    /**
+     * Returns an index for a list that starts with the games indexed here and only
+     * appends more. The table is copied and the appended games are inserted; it is
+     * rebuilt only when it has to grow.
+     *
+     * @param games the longer list of games
+     * @return an index over all games of the list
+     */
+    SteamIdIndex append(List<Game> games) {
+        if (games.size() == indexedCount) {
+            return this;
+        }
+        if (capacityFor(games.size()) > table.length / 2) {
+            return build(games);
+        }
+        int[] copy = table.clone();
+        int added = insertAll(copy, games, indexedCount);
+        return new SteamIdIndex(copy, size + added, games.size(), idCount + countIds(games, indexedCount));
+    }
+
+    /**
+     * Returns an index for a list in which the game at one position was replaced and
+     * everything else is unchanged. The table is copied and only the two ids are
+     * patched; it is rebuilt if several games share an id, since the next game with
+     * the old id would have to be found.
+     *
+     * @param games the list with the new game
+     * @param position the position of the replaced game
+     * @param previous the game that was replaced
+     * @return an index over all games of the list
+     */
+    SteamIdIndex replace(List<Game> games, int position, Game previous) {
+        Integer previousId = previous.getSteamId();
+        Integer steamId = games.get(position).getSteamId();
+        if (Objects.equals(previousId, steamId)) {
+            return this;
+        }
+        if (idCount > size) {
+            return build(games);
+        }
+        int[] copy = table.clone();
+        int newSize = size;
+        int newIdCount = idCount;
+        if (previousId != null) {
+            remove(copy, previousId);
+            newSize--;
+            newIdCount--;
+        }
+        if (steamId != null) {
+            if (insert(copy, steamId, position)) {
+                newSize++;
+            }
+            newIdCount++;
+        }
+        return new SteamIdIndex(copy, newSize, games.size(), newIdCount);
+    }
+
+    /**
+     * Returns the position of the game with a Steam id.
+     *
+     * @param steamId the Steam app id
+     * @return the position in the snapshot, or -1 if no game has the id
+     */
+    int find(int steamId) {
+        int i = slot(steamId, mask);
+        while (true) {
+            int position = table[2 * i + 1];
+            if (position == 0) {
+                return -1;
+            }
+            if (table[2 * i] == steamId) {
+                return position - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Looks up many Steam ids at once, in parallel for long arrays.
+     *
+     * @param steamIds the Steam app ids
+     * @return the position of each id in the snapshot, or -1 where no game has the id
+     */
+    int[] findAll(int[] steamIds) {
+        int[] positions = new int[steamIds.length];
+        IntStream range = IntStream.range(0, steamIds.length);
+        if (steamIds.length > PARALLEL_LOOKUP_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(i -> positions[i] = find(steamIds[i]));
+        return positions;
+    }
+
+    /**
+     * Returns the number of distinct Steam ids in the index.
+     *
+     * @return the number of ids
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Inserts the Steam ids of games from a start position on, keeping existing entries.
+     *
+     * @return the number of new ids
+     */
+    private static int insertAll(int[] table, List<Game> games, int from) {
+        int added = 0;
+        for (int position = from; position < games.size(); position++) {
+            Integer steamId = games.get(position).getSteamId();
+            if (steamId != null && insert(table, steamId, position)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Inserts a Steam id, or moves it to the position if that comes first.
+     *
+     * @return true if the id is new
+     */
+    private static boolean insert(int[] table, int steamId, int position) {
+        int mask = table.length / 2 - 1;
+        int i = slot(steamId, mask);
+        while (table[2 * i + 1] != 0 && table[2 * i] != steamId) {
+            i = (i + 1) & mask;
+        }
+        if (table[2 * i + 1] == 0) {
+            table[2 * i] = steamId;
+            table[2 * i + 1] = position + 1;
+            return true;
+        }
+        table[2 * i + 1] = Math.min(table[2 * i + 1], position + 1);
+        return false;
+    }
+
+    /**
+     * Removes a Steam id that is in the table, shifting back the entries probed past it
+     * so that every remaining id is still found.
+     */
+    private static void remove(int[] table, int steamId) {
+        int mask = table.length / 2 - 1;
+        int i = slot(steamId, mask);
+        while (table[2 * i] != steamId || table[2 * i + 1] == 0) {
+            i = (i + 1) & mask;
+        }
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (table[2 * j + 1] == 0) {
+                break;
+            }
+            // An entry may fill the gap only if its home slot is not cyclically within (i, j]
+            int home = slot(table[2 * j], mask);
+            boolean reachable = i <= j ? i < home && home <= j : i < home || home <= j;
+            if (!reachable) {
+                table[2 * i] = table[2 * j];
+                table[2 * i + 1] = table[2 * j + 1];
+                i = j;
+            }
+        }
+        table[2 * i] = 0;
+        table[2 * i + 1] = 0;
+    }
+
+    private static int countIds(List<Game> games, int from) {
+        int count = 0;
+        for (int position = from; position < games.size(); position++) {
+            if (games.get(position).getSteamId() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a power-of-two number of entries that keeps the table at most half full.
+     */
+    private static int capacityFor(int count) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, count) * 2 - 1) << 1);
+    }
+
+    private static int slot(int steamId, int mask) {
+        // Murmur3 finalizer, since Steam ids are mostly multiples of 10
+        int h = steamId;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h & mask;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.gamecatalog.repository;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Sort keys for game titles. A key is computed once per title, so sorting compares
+ * plain strings instead of folding case on every comparison.
+ * <p>
+ * Keys ignore case and accents and a leading "The ", and order runs of digits by
+ * their numeric value, so "Witcher 2" comes before "Witcher 10". A run of digits is
+ * written as a '0' marker, its length without leading zeros and then the digits:
+ * the marker keeps numbers where digits sort among other characters, and a shorter
+ * number always sorts first.
+ */
+final class TitleKey {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final String ARTICLE = "the ";
+
+    private TitleKey() {
+    }
+
+    /**
+     * Computes the sort key of a title.
+     *
+     * @param title the title, may be null
+     * @return the key, compared with {@link String#compareTo}; null if the title is null
+     */
+    static String of(String title) {
+        if (title == null) {
+            return null;
+        }
+        String folded = title.trim();
+        // Most titles are plain ASCII and have no accents to strip
+        if (!isAscii(folded)) {
+            folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        }
+        folded = folded.toLowerCase(Locale.ROOT);
+        if (folded.startsWith(ARTICLE) && folded.length() > ARTICLE.length()) {
+            folded = folded.substring(ARTICLE.length()).trim();
+        }
+
+        StringBuilder key = new StringBuilder(folded.length() + 8);
+        int i = 0;
+        while (i < folded.length()) {
+            char c = folded.charAt(i);
+            if (c < '0' || c > '9') {
+                key.append(c);
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < folded.length() && folded.charAt(end) >= '0' && folded.charAt(end) <= '9') {
+                end++;
+            }
+            // Leading zeros do not change the value; a lone zero stays
+            int start = i;
+            while (start < end - 1 && folded.charAt(start) == '0') {
+                start++;
+            }
+            key.append('0').append((char) (end - start)).append(folded, start, end);
+            i = end;
+        }
+        return key.toString();
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.gamecatalog.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Least-recently-used cache of game description texts.
+ * A game only stores the path of its description; the text is read the first time it
+ * is asked for, so descriptions of games nobody opens are never held in memory. The
+ * cache is bounded by the total length of the texts it keeps. Large description files
+ * are memory-mapped and decoded from the mapping instead of being copied into a
+ * buffer first.
+ * <p>
+ * {@link #prefetch(String)} reads a description in the background, so it is usually
+ * ready by the time the details of a game are opened.
+ */
+public class DescriptionStore {
+
+    // Characters of description text kept, a few hundred typical descriptions
+    private static final int MAX_CACHED_CHARS = 2_000_000;
+    // Files from this size on are memory-mapped
+    private static final long MAP_THRESHOLD = 64 * 1024;
+
+    private static final DescriptionStore INSTANCE = new DescriptionStore();
+
+    // Access ordered, guarded by this
+    private final Map<String, String> descriptions = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedChars;
+    // Paths queued for prefetching, guarded by this
+    private final Set<String> pending = new HashSet<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "description-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DescriptionStore() {
+    }
+
+    /**
+     * Returns the store shared by all views.
+     *
+     * @return the description store
+     */
+    public static DescriptionStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a description, reading it on first use. The text is looked up as a file
+     * below src/main/resources first (for newly added descriptions), then among the
+     * application resources.
+     *
+     * @param descriptionPath the description path stored with the game, relative to
+     *                        the resources
+     * @return the description, or null if the game has none or it cannot be read
+     */
+    public String getDescription(String descriptionPath) {
+        if (descriptionPath == null || descriptionPath.isEmpty()) {
+            return null;
+        }
+        synchronized (this) {
+            String cached = descriptions.get(descriptionPath);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Read outside the lock; two threads reading the same file is harmless
+        String text = loadDescription(descriptionPath);
+        if (text != null) {
+            cache(descriptionPath, text);
+        }
+        return text;
+    }
+
+    /**
+     * Starts reading a description in the background unless it is cached or already
+     * being read.
+     *
+     * @param descriptionPath the description path stored with the game
+     */
+    public void prefetch(String descriptionPath) {
+        if (descriptionPath == null || descriptionPath.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (descriptions.containsKey(descriptionPath) || !pending.add(descriptionPath)) {
+                return;
+            }
+        }
+        executor.execute(() -> {
+            try {
+                getDescription(descriptionPath);
+            } finally {
+                synchronized (this) {
+                    pending.remove(descriptionPath);
+                }
+            }
+        });
+    }
+
+    private synchronized void cache(String descriptionPath, String text) {
+        // A text larger than the whole budget would only evict everything else
+        if (text.length() > MAX_CACHED_CHARS) {
+            return;
+        }
+        String previous = descriptions.put(descriptionPath, text);
+        if (previous != null) {
+            cachedChars -= previous.length();
+        }
+        cachedChars += text.length();
+
+        Iterator<String> eldest = descriptions.values().iterator();
+        while (cachedChars > MAX_CACHED_CHARS && eldest.hasNext()) {
+            cachedChars -= eldest.next().length();
+            eldest.remove();
+        }
+    }
+
+    private String loadDescription(String descriptionPath) {
+        // First try to read it as a file on disk (for newly added descriptions)
+        File file = new File("src/main/resources/" + descriptionPath);
+        if (file.isFile()) {
+            try {
+                return readFile(file);
+            } catch (IOException e) {
+                System.err.println("Error reading description from file: " + e.getMessage());
+            }
+        }
+
+        // Then try to read it from resources (for descriptions included in the app)
+        try (InputStream in = DescriptionStore.class.getResourceAsStream("/" + descriptionPath)) {
+            if (in != null) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading description from resources: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private static String readFile(File file) throws IOException {
+        if (file.length() < MAP_THRESHOLD) {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return StandardCharsets.UTF_8.decode(mapped).toString();
+        }
+    }
+}
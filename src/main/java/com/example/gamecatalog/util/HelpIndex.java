@@ -0,0 +1,207 @@
+package com.example.gamecatalog.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the sections of the user guide.
+ * The guide is split at its h2 and h3 headings; each heading and the text up to the
+ * next one form a section. Every word maps to the sections containing it, so a search
+ * is a few binary searches over the sorted words and a merge of their sections,
+ * without involving the web view. The last word of a query matches as a prefix, so
+ * results follow the search box while typing.
+ */
+final class HelpIndex {
+    private static final Pattern HEADING = Pattern.compile("<h([23])[^>]*>(.*?)</h\\1>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern BODY = Pattern.compile("<body[^>]*>(.*)</body>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    // A word in a heading counts as much as this many in the text
+    private static final int HEADING_WEIGHT = 10;
+
+    private final List<Section> sections;
+    // Sorted words, and per word the sections containing it (ascending) with weights
+    private final String[] words;
+    private final int[][] postings;
+    private final int[][] weights;
+
+    /**
+     * A heading of the guide and the text below it.
+     */
+    static final class Section {
+        private final int ordinal;
+        private final String heading;
+        private final boolean subsection;
+
+        Section(int ordinal, String heading, boolean subsection) {
+            this.ordinal = ordinal;
+            this.heading = heading;
+            this.subsection = subsection;
+        }
+
+        /**
+         * @return the position of the heading among the h2 and h3 headings of the guide
+         */
+        int getOrdinal() {
+            return ordinal;
+        }
+
+        @Override
+        public String toString() {
+            return subsection ? "    " + heading : heading;
+        }
+    }
+
+    private HelpIndex(List<Section> sections, Map<String, Map<Integer, Integer>> occurrences) {
+        this.sections = sections;
+        TreeMap<String, Map<Integer, Integer>> sorted = new TreeMap<>(occurrences);
+        this.words = sorted.keySet().toArray(new String[0]);
+        this.postings = new int[words.length][];
+        this.weights = new int[words.length][];
+        int w = 0;
+        for (Map<Integer, Integer> bySection : sorted.values()) {
+            int[] ids = bySection.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            int[] counts = new int[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                counts[i] = bySection.get(ids[i]);
+            }
+            postings[w] = ids;
+            weights[w] = counts;
+            w++;
+        }
+    }
+
+    /**
+     * Indexes an HTML document.
+     *
+     * @param html the document
+     * @return the index of its sections
+     */
+    static HelpIndex build(String html) {
+        Matcher body = BODY.matcher(html);
+        String content = body.find() ? body.group(1) : html;
+
+        List<Section> sections = new ArrayList<>();
+        Map<String, Map<Integer, Integer>> occurrences = new HashMap<>();
+        Matcher heading = HEADING.matcher(content);
+        int id = -1;
+        int textStart = 0;
+        while (heading.find()) {
+            if (id >= 0) {
+                addWords(occurrences, id, content.substring(textStart, heading.start()), 1);
+            }
+            id = sections.size();
+            String title = toText(heading.group(2));
+            sections.add(new Section(id, title, heading.group(1).equals("3")));
+            addWords(occurrences, id, title, HEADING_WEIGHT);
+            textStart = heading.end();
+        }
+        if (id >= 0) {
+            addWords(occurrences, id, content.substring(textStart), 1);
+        }
+        return new HelpIndex(sections, occurrences);
+    }
+
+    private static void addWords(Map<String, Map<Integer, Integer>> occurrences, int section,
+                                 String html, int weight) {
+        Matcher word = WORD.matcher(toText(html).toLowerCase(Locale.ROOT));
+        while (word.find()) {
+            occurrences.computeIfAbsent(word.group(), w -> new HashMap<>())
+                    .merge(section, weight, Integer::sum);
+        }
+    }
+
+    private static String toText(String html) {
+        String text = TAG.matcher(html).replaceAll(" ");
+        text = text.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&#39;", "'").replace("&nbsp;", " ").replace("&amp;", "&");
+        return text.replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Returns the sections of the guide in document order.
+     *
+     * @return the sections
+     */
+    List<Section> getSections() {
+        return sections;
+    }
+
+    /**
+     * Finds the sections containing every word of a query, best match first.
+     *
+     * @param query the words to find; the last one may be incomplete
+     * @return the matching sections, or all sections for an empty query
+     */
+    List<Section> search(String query) {
+        List<String> terms = new ArrayList<>();
+        Matcher word = WORD.matcher(query == null ? "" : query.toLowerCase(Locale.ROOT));
+        while (word.find()) {
+            terms.add(word.group());
+        }
+        if (terms.isEmpty()) {
+            return sections;
+        }
+
+        // Score per section; sections missing a term drop out
+        int[] scores = null;
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            boolean prefix = t == terms.size() - 1;
+            int[] termScores = new int[sections.size()];
+            int first = lowerBound(term);
+            for (int w = first; w < words.length
+                    && (prefix ? words[w].startsWith(term) : words[w].equals(term)); w++) {
+                for (int i = 0; i < postings[w].length; i++) {
+                    termScores[postings[w][i]] += weights[w][i];
+                }
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                for (int s = 0; s < scores.length; s++) {
+                    scores[s] = scores[s] == 0 || termScores[s] == 0 ? 0 : scores[s] + termScores[s];
+                }
+            }
+        }
+
+        Integer[] matches = new Integer[sections.size()];
+        int count = 0;
+        for (int s = 0; s < scores.length; s++) {
+            if (scores[s] > 0) {
+                matches[count++] = s;
+            }
+        }
+        int[] finalScores = scores;
+        Arrays.sort(matches, 0, count, (a, b) -> finalScores[b] != finalScores[a]
+                ? Integer.compare(finalScores[b], finalScores[a]) : Integer.compare(a, b));
+        List<Section> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(sections.get(matches[i]));
+        }
+        return result;
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -1,62 +1,189 @@
 package com.example.gamecatalog.util;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
 import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
 import javafx.scene.web.WebEngine;
 import javafx.scene.web.WebView;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import javafx.util.Duration;
 
 /**
  * Utility class for managing help documentation.
- * Provides methods to show the help documentation in a new window.
+ * The help window and its web view are created once, either by {@link #prewarm()}
+ * shortly after startup or on first use, and then reused, so opening help does not
+ * start a new web engine each time. A search box next to the guide lists the sections
+ * matching its words, found in a {@link HelpIndex} rather than by the web view.
  */
 public class HelpManager {
-    
+
     private static final String HELP_RESOURCE_PATH = "/help/user-guide.html";
     private static final int HELP_WINDOW_WIDTH = 950;
     private static final int HELP_WINDOW_HEIGHT = 700;
-    
+    private static final double SEARCH_PANE_WIDTH = 220;
+    // Wait before preparing the window, so it does not compete with startup
+    private static final Duration PREWARM_DELAY = Duration.seconds(2);
+
+    // The help window, created once (FX thread only)
+    private static Stage helpStage;
+    private static WebEngine webEngine;
+    private static TextField searchField;
+    private static ListView<HelpIndex.Section> sectionList;
+    // Built by the prewarm thread, or on first use
+    private static HelpIndex index;
+
+    /**
+     * Prepares help in the background: indexes the guide right away and creates the
+     * help window, loading the guide into it, shortly afterwards. Must be called on
+     * the FX thread.
+     */
+    public static void prewarm() {
+        Thread indexer = new Thread(HelpManager::getIndex, "help-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+
+        PauseTransition delay = new PauseTransition(PREWARM_DELAY);
+        delay.setOnFinished(e -> {
+            try {
+                getHelpStage();
+            } catch (Exception ex) {
+                System.err.println("Error preparing help document: " + ex.getMessage());
+            }
+        });
+        delay.play();
+    }
+
     /**
-     * Opens the help documentation in a new window.
+     * Opens the help documentation window.
      */
     public static void showHelpDocument() {
         try {
-            // Create a new stage for the help window
-            Stage helpStage = new Stage();
-            helpStage.setTitle("GameMage - Help");
-            helpStage.initStyle(StageStyle.DECORATED);
-            helpStage.initModality(Modality.APPLICATION_MODAL);
-            helpStage.setWidth(HELP_WINDOW_WIDTH);
-            helpStage.setHeight(HELP_WINDOW_HEIGHT);
-            
-            // Create a WebView to display the HTML content
-            WebView webView = new WebView();
-            WebEngine webEngine = webView.getEngine();
-            
-            // Load the help document from resources
-            URL helpUrl = HelpManager.class.getResource(HELP_RESOURCE_PATH);
-            if (helpUrl != null) {
-                webEngine.load(helpUrl.toExternalForm());
-            } else {
-                System.err.println("Help resource not found: " + HELP_RESOURCE_PATH);
+            Stage stage = getHelpStage();
+            if (stage == null) {
                 return;
             }
-            
-            // Create layout and scene
-            BorderPane root = new BorderPane();
-            root.setCenter(webView);
-            Scene scene = new Scene(root);
-            
-            helpStage.setScene(scene);
-            helpStage.show();
-            
+
+            // Start from the top with every section listed, as a fresh window would
+            searchField.clear();
+            webEngine.executeScript("window.scrollTo(0, 0)");
+            stage.show();
+            stage.toFront();
+            searchField.requestFocus();
+
         } catch (Exception e) {
             e.printStackTrace();
             System.err.println("Error showing help document: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Returns the help window, creating it and loading the guide on first use.
+     *
+     * @return the help window, or null if the guide is missing
+     */
+    private static Stage getHelpStage() {
+        if (helpStage != null) {
+            return helpStage;
+        }
+
+        URL helpUrl = HelpManager.class.getResource(HELP_RESOURCE_PATH);
+        if (helpUrl == null) {
+            System.err.println("Help resource not found: " + HELP_RESOURCE_PATH);
+            return null;
+        }
+
+        // Create a WebView to display the HTML content
+        WebView webView = new WebView();
+        webEngine = webView.getEngine();
+        webEngine.load(helpUrl.toExternalForm());
+
+        // Search box above the sections matching it; with no search, all of them
+        searchField = new TextField();
+        searchField.setPromptText("Search help...");
+        sectionList = new ListView<>();
+        sectionList.getItems().setAll(getIndex().getSections());
+        searchField.textProperty().addListener((obs, oldText, newText) ->
+                sectionList.getItems().setAll(getIndex().search(newText)));
+        // Enter jumps to the best match
+        searchField.setOnAction(e -> {
+            if (!sectionList.getItems().isEmpty()) {
+                showSection(sectionList.getItems().get(0));
+            }
+        });
+        sectionList.setOnMouseClicked(e -> {
+            HelpIndex.Section section = sectionList.getSelectionModel().getSelectedItem();
+            if (section != null) {
+                showSection(section);
+            }
+        });
+        sectionList.setOnKeyPressed(e -> {
+            HelpIndex.Section section = sectionList.getSelectionModel().getSelectedItem();
+            if (e.getCode() == KeyCode.ENTER && section != null) {
+                showSection(section);
+            }
+        });
+
+        VBox searchPane = new VBox(5, searchField, sectionList);
+        searchPane.setPadding(new Insets(5));
+        searchPane.setPrefWidth(SEARCH_PANE_WIDTH);
+        VBox.setVgrow(sectionList, Priority.ALWAYS);
+
+        // Create layout and scene
+        BorderPane root = new BorderPane();
+        root.setLeft(searchPane);
+        root.setCenter(webView);
+
+        Stage stage = new Stage();
+        stage.setTitle("GameMage - Help");
+        stage.initStyle(StageStyle.DECORATED);
+        stage.initModality(Modality.APPLICATION_MODAL);
+        stage.setWidth(HELP_WINDOW_WIDTH);
+        stage.setHeight(HELP_WINDOW_HEIGHT);
+        stage.setScene(new Scene(root));
+        helpStage = stage;
+        return helpStage;
+    }
+
+    /**
+     * Scrolls the guide to a section.
+     *
+     * @param section the section to show
+     */
+    private static void showSection(HelpIndex.Section section) {
+        // Sections are numbered in the order of the h2 and h3 headings of the guide
+        webEngine.executeScript("var heading = document.querySelectorAll('h2, h3')["
+                + section.getOrdinal() + "]; if (heading) heading.scrollIntoView();");
+    }
+
+    /**
+     * Returns the index of the guide, building it on first use.
+     *
+     * @return the index; empty if the guide cannot be read
+     */
+    private static synchronized HelpIndex getIndex() {
+        if (index == null) {
+            String html = "";
+            try (InputStream in = HelpManager.class.getResourceAsStream(HELP_RESOURCE_PATH)) {
+                if (in != null) {
+                    html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            } catch (IOException e) {
+                System.err.println("Error indexing help document: " + e.getMessage());
+            }
+            index = HelpIndex.build(html);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.gamecatalog.util;
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of decoded cover images.
+ * Covers are decoded at the size they are shown on a game card rather than at their
+ * full resolution, which keeps both decoding and the cache small. Covers can be
+ * loaded from any thread, so pages can be prepared before they are shown.
+ */
+public class ImageCache {
+
+    /** Width and height of the cover area of a game card. */
+    public static final double COVER_SIZE = 186.0;
+    // Covers kept decoded, a few pages worth
+    private static final int MAX_IMAGES = 600;
+    private static final String BLANK_COVER = "/icons/blank-gamecard-icon.png";
+
+    private static final ImageCache INSTANCE = new ImageCache();
+
+    private final Map<String, Image> covers = new LinkedHashMap<String, Image>(MAX_IMAGES * 2, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+            return size() > MAX_IMAGES;
+        }
+    };
+    private Image blankCover;
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the cache shared by all views.
+     *
+     * @return the image cache
+     */
+    public static ImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cover of a game, decoding it on first use. The image is looked up
+     * as a file below src/main/resources first (for newly added images), then among
+     * the application resources.
+     *
+     * @param imagePath the cover path stored with the game, relative to the resources
+     * @return the cover at card size, or the blank cover if it cannot be loaded
+     */
+    public Image getCover(String imagePath) {
+        if (imagePath == null || imagePath.isEmpty()) {
+            return getBlankCover();
+        }
+        synchronized (this) {
+            Image cached = covers.get(imagePath);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Decoded outside the lock; two threads loading the same cover is harmless
+        Image image = loadCover(imagePath);
+        synchronized (this) {
+            covers.put(imagePath, image);
+        }
+        return image;
+    }
+
+    /**
+     * Returns the cover shown for games without one of their own.
+     *
+     * @return the blank cover
+     */
+    public synchronized Image getBlankCover() {
+        if (blankCover == null) {
+            blankCover = decode(ImageCache.class.getResourceAsStream(BLANK_COVER));
+        }
+        return blankCover;
+    }
+
+    private Image loadCover(String imagePath) {
+        // First try to load as a file on disk (for newly added images)
+        File imageFile = new File("src/main/resources/" + imagePath);
+        if (imageFile.exists()) {
+            try {
+                Image image = new Image(imageFile.toURI().toURL().toString(),
+                        COVER_SIZE, COVER_SIZE, true, true, false);
+                if (!image.isError()) {
+                    return image;
+                }
+            } catch (Exception e) {
+                System.err.println("Error loading image from file: " + e.getMessage());
+            }
+        }
+
+        // Then try to load from resources (for images included in the app)
+        Image image = decode(ImageCache.class.getResourceAsStream("/" + imagePath));
+        return image != null ? image : getBlankCover();
+    }
+
+    private static Image decode(InputStream in) {
+        if (in == null) {
+            return null;
+        }
+        try (InputStream stream = in) {
+            Image image = new Image(stream, COVER_SIZE, COVER_SIZE, true, true);
+            return image.isError() ? null : image;
+        } catch (Exception e) {
+            System.err.println("Error loading image from resources: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.gamecatalog.util;
+
+import javafx.concurrent.Task;
+import javafx.concurrent.Worker;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.stage.Window;
+
+/**
+ * Utility class for showing the progress of a background task.
+ * The window follows the task's message and progress, offers a cancel button,
+ * and closes itself when the task finishes.
+ */
+public final class ProgressDialog {
+
+    private static final int PROGRESS_BAR_WIDTH = 320;
+
+    private ProgressDialog() {
+    }
+
+    /**
+     * Opens a progress window for a task. The task must be started separately.
+     *
+     * @param owner the window that owns the progress window
+     * @param title the title of the progress window
+     * @param task the task to follow
+     */
+    public static void show(Window owner, String title, Task<?> task) {
+        Stage progressStage = new Stage();
+        progressStage.setTitle(title);
+        progressStage.initOwner(owner);
+        progressStage.initStyle(StageStyle.UTILITY);
+        progressStage.setResizable(false);
+
+        Label messageLabel = new Label(title);
+        messageLabel.textProperty().bind(task.messageProperty());
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(PROGRESS_BAR_WIDTH);
+        progressBar.progressProperty().bind(task.progressProperty());
+
+        Button cancelButton = new Button("Cancel");
+        cancelButton.setOnAction(e -> task.cancel());
+        // Closing the window cancels the task as well
+        progressStage.setOnCloseRequest(e -> task.cancel());
+
+        task.stateProperty().addListener((obs, oldState, newState) -> {
+            if (newState == Worker.State.SUCCEEDED || newState == Worker.State.FAILED
+                    || newState == Worker.State.CANCELLED) {
+                progressStage.close();
+            }
+        });
+
+        VBox root = new VBox(10, messageLabel, progressBar, cancelButton);
+        root.setPadding(new Insets(15));
+        progressStage.setScene(new Scene(root));
+        progressStage.show();
+    }
+}
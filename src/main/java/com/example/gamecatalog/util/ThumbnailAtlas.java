@@ -0,0 +1,161 @@
+package com.example.gamecatalog.util;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The covers of one page of cards packed into a single image.
+ * Cards show their cover as a viewport of the atlas, so rendering a page uploads and
+ * binds one texture instead of one per card, which matters most on the software
+ * pipeline. Games sharing a cover, such as all games without one, share a cell.
+ * <p>
+ * Atlases are built from the card-size covers of the {@link ImageCache}, can be
+ * built on any thread and are kept for the few most recent pages.
+ */
+public final class ThumbnailAtlas {
+    private static final int CELL_SIZE = (int) Math.ceil(ImageCache.COVER_SIZE);
+    // Atlases kept: the page shown and the ones prepared around it
+    private static final int MAX_CACHED_PAGES = 3;
+
+    private static final Map<PageKey, ThumbnailAtlas> CACHE =
+            new LinkedHashMap<PageKey, ThumbnailAtlas>(MAX_CACHED_PAGES * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PageKey, ThumbnailAtlas> eldest) {
+                    return size() > MAX_CACHED_PAGES;
+                }
+            };
+
+    private final List<String> coverPaths;
+    private final WritableImage image;
+    // Per cover of the page, the area of the atlas holding it
+    private final Rectangle2D[] viewports;
+
+    /**
+     * Identifies a page of a view; views are compared by identity.
+     */
+    private static final class PageKey {
+        private final Object view;
+        private final int page;
+
+        PageKey(Object view, int page) {
+            this.view = view;
+            this.page = page;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PageKey)) {
+                return false;
+            }
+            PageKey other = (PageKey) o;
+            return view == other.view && page == other.page;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(view) * 31 + page;
+        }
+    }
+
+    private ThumbnailAtlas(List<String> coverPaths) {
+        this.coverPaths = coverPaths;
+        this.viewports = new Rectangle2D[coverPaths.size()];
+
+        // One cell per distinct cover, in a roughly square grid
+        Map<String, Integer> cells = new HashMap<>();
+        for (String path : coverPaths) {
+            cells.putIfAbsent(path == null ? "" : path, cells.size());
+        }
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(cells.size())));
+        int rows = Math.max(1, (cells.size() + columns - 1) / columns);
+        this.image = new WritableImage(columns * CELL_SIZE, rows * CELL_SIZE);
+
+        PixelWriter writer = image.getPixelWriter();
+        Rectangle2D[] cellViewports = new Rectangle2D[cells.size()];
+        for (Map.Entry<String, Integer> entry : cells.entrySet()) {
+            int cell = entry.getValue();
+            int x = (cell % columns) * CELL_SIZE;
+            int y = (cell / columns) * CELL_SIZE;
+            Image cover = ImageCache.getInstance().getCover(entry.getKey());
+            PixelReader reader = cover == null ? null : cover.getPixelReader();
+            if (reader == null) {
+                // Nothing to show; an empty viewport leaves the card blank
+                cellViewports[cell] = new Rectangle2D(x, y, 1, 1);
+                continue;
+            }
+            int width = Math.min(CELL_SIZE, (int) cover.getWidth());
+            int height = Math.min(CELL_SIZE, (int) cover.getHeight());
+            writer.setPixels(x, y, width, height, reader, 0, 0);
+            cellViewports[cell] = new Rectangle2D(x, y, width, height);
+        }
+        for (int i = 0; i < coverPaths.size(); i++) {
+            String path = coverPaths.get(i);
+            viewports[i] = cellViewports[cells.get(path == null ? "" : path)];
+        }
+    }
+
+    /**
+     * Returns the atlas of a page, building it unless it is cached.
+     *
+     * @param view the view the page belongs to, compared by identity
+     * @param page the page number
+     * @param coverPaths the cover path of each game on the page, in page order; null
+     *                   or empty for games without a cover
+     * @return the atlas of the page
+     */
+    public static ThumbnailAtlas forPage(Object view, int page, List<String> coverPaths) {
+        PageKey key = new PageKey(view, page);
+        synchronized (CACHE) {
+            ThumbnailAtlas cached = CACHE.get(key);
+            if (cached != null && cached.coverPaths.equals(coverPaths)) {
+                return cached;
+            }
+        }
+
+        // Built outside the lock; covers may have to be decoded first
+        ThumbnailAtlas atlas = new ThumbnailAtlas(coverPaths);
+        synchronized (CACHE) {
+            CACHE.put(key, atlas);
+        }
+        return atlas;
+    }
+
+    /**
+     * Builds an atlas holding a single cover, e.g. for a card whose game was edited.
+     * The atlas is not cached.
+     *
+     * @param coverPath the cover path of the game; null or empty if it has none
+     * @return the atlas, with the cover at index 0
+     */
+    public static ThumbnailAtlas forCover(String coverPath) {
+        return new ThumbnailAtlas(Collections.singletonList(coverPath));
+    }
+
+    /**
+     * Returns the packed image.
+     *
+     * @return the atlas image
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Returns the area of the atlas holding the cover of a game on the page.
+     *
+     * @param index the index of the game on the page
+     * @return the viewport to show
+     */
+    public Rectangle2D getViewport(int index) {
+        return viewports[index];
+    }
+}
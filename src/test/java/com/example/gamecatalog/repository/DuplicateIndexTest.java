@@ -0,0 +1,50 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateIndexTest {
+
+    private static DuplicateIndex index(Game... games) {
+        return DuplicateIndex.build(new CatalogSnapshot(new ArrayList<>(List.of(games)), 1));
+    }
+
+    @Test
+    public void editionWordsDoNotHideADuplicate() {
+        Game original = new Game("The Witcher 3: Wild Hunt", "CD Projekt Red", "CD Projekt");
+        Game goty = new Game("The Witcher 3: Wild Hunt - GOTY Edition", "CD Projekt Red", "CD Projekt");
+        DuplicateIndex index = index(original, goty);
+
+        assertEquals(List.of(original), index.findSimilar(goty));
+        assertEquals(1, index.findClusters(() -> false).size());
+    }
+
+    @Test
+    public void sequelsAreNotDuplicates() {
+        Game first = new Game("Dark Souls", "FromSoftware", "Bandai Namco");
+        Game second = new Game("Dark Souls II", "FromSoftware", "Bandai Namco");
+        Game third = new Game("Dark Souls 3", "FromSoftware", "Bandai Namco");
+        DuplicateIndex index = index(first, second, third);
+
+        assertTrue(index.findSimilar(first).isEmpty());
+        assertTrue(index.findSimilar(second).isEmpty());
+        assertTrue(index.findSimilar(new Game("Dark Souls III", "FromSoftware", "Bandai Namco")).contains(third));
+        assertTrue(index.findClusters(() -> false).isEmpty());
+    }
+
+    @Test
+    public void titleNumbersTreatRomanAndArabicAlike() {
+        assertEquals("3", DuplicateIndex.titleNumbers(new Game("Dark Souls III", null, null)));
+        assertEquals("3", DuplicateIndex.titleNumbers(new Game("Dark Souls 03", null, null)));
+        assertEquals("", DuplicateIndex.titleNumbers(new Game("I Am Bread", null, null)));
+        assertFalse(DuplicateIndex.titleNumbers(new Game("Grand Theft Auto V", null, null)).isEmpty());
+    }
+}
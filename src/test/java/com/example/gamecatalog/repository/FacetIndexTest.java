@@ -0,0 +1,93 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class FacetIndexTest {
+    private static final String[] GENRES = {"Action", "RPG", "Puzzle", "Strategy", "Indie"};
+    private static final String[] PLATFORMS = {"PC", "Switch", "PS5"};
+
+    private static CatalogSnapshot randomCatalog(int count, long seed) {
+        Random random = new Random(seed);
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Game game = new Game("Game " + i, "Developer " + random.nextInt(20), "Publisher " + random.nextInt(5));
+            game.setGenres(new ArrayList<>(Arrays.asList(GENRES[random.nextInt(GENRES.length)],
+                    GENRES[random.nextInt(GENRES.length)])));
+            game.setPlatforms(new ArrayList<>(List.of(PLATFORMS[random.nextInt(PLATFORMS.length)])));
+            game.setReleaseYear(random.nextBoolean() ? 1990 + random.nextInt(30) : null);
+            game.setRating(random.nextInt(4) == 0 ? null : random.nextInt(101) / 10.0);
+            games.add(game);
+        }
+        return new CatalogSnapshot(games, 1);
+    }
+
+    /**
+     * Counts by looking at every game: the games matching all filters but the facet's
+     * own, per value of the facet.
+     */
+    private static int naiveCount(CatalogSnapshot snapshot, Facet facet, String value, GameQuery query) {
+        GameQuery others = query.with(facet, null);
+        int count = 0;
+        for (Game game : snapshot.getGames()) {
+            if (others.matches(game) && facet.matches(game, value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void assertCountsMatch(CatalogSnapshot snapshot, GameQuery query) {
+        FacetIndex index = FacetIndex.build(snapshot);
+        for (Facet facet : Facet.values()) {
+            Map<String, Integer> counts = index.counts(facet, query);
+            for (String value : index.values(facet)) {
+                int expected = naiveCount(snapshot, facet, value, query);
+                assertEquals(facet + " " + value + " for " + query,
+                        expected, (int) counts.getOrDefault(value, 0));
+            }
+        }
+    }
+
+    @Test
+    public void countsWithoutFiltersMatchNaiveCount() {
+        assertCountsMatch(randomCatalog(2_000, 1), GameQuery.ALL);
+    }
+
+    @Test
+    public void countsWithFiltersMatchNaiveCount() {
+        CatalogSnapshot snapshot = randomCatalog(2_000, 2);
+        assertCountsMatch(snapshot, GameQuery.ALL.with(Facet.GENRE, "RPG"));
+        assertCountsMatch(snapshot, GameQuery.ALL.with(Facet.PLATFORM, "PC").withYearRange(2000, 2009));
+        assertCountsMatch(snapshot, GameQuery.ALL.with(Facet.GENRE, "Indie").withMinRating(7.0));
+        assertCountsMatch(snapshot, GameQuery.ALL.withSearchTerm("game 1"));
+    }
+
+    @Test
+    public void positionsMatchNaiveFilter() {
+        CatalogSnapshot snapshot = randomCatalog(1_000, 3);
+        GameQuery query = GameQuery.ALL.with(Facet.GENRE, "Action").with(Facet.PLATFORM, "Switch");
+        List<Integer> expected = new ArrayList<>();
+        List<Game> games = snapshot.getGames();
+        for (int i = 0; i < games.size(); i++) {
+            if (query.matches(games.get(i))) {
+                expected.add(i);
+            }
+        }
+
+        int[] positions = FacetIndex.build(snapshot).positions(query);
+        assertEquals(expected.size(), positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals((int) expected.get(i), positions[i]);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GameJsonParserTest {
+
+    private static List<Game> sampleGames() {
+        List<Game> games = new ArrayList<>();
+        games.add(new Game("Half-Life 2", "Valve", "Valve",
+                Arrays.asList("Shooter", "Action"), Arrays.asList("PC"), null,
+                220, 2004, "English", 9.6, Arrays.asList("Classic"), "images/hl2.png", "descriptions/hl2.txt"));
+        Game accented = new Game("Pokémon Red — Édition", "Game Freak", "Nintendo");
+        accented.setRating(7.25);
+        games.add(accented);
+        for (int i = 0; i < 500; i++) {
+            Game game = new Game("Game " + i, "Developer " + i % 7, "Publisher");
+            game.setReleaseYear(1990 + i % 30);
+            game.setTags(new ArrayList<>(Arrays.asList("tag" + i % 3)));
+            games.add(game);
+        }
+        return games;
+    }
+
+    private static byte[] toBytes(ByteBuffer[] buffers) {
+        int length = 0;
+        for (ByteBuffer buffer : buffers) {
+            length += buffer.remaining();
+        }
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (ByteBuffer buffer : buffers) {
+            int count = buffer.remaining();
+            buffer.duplicate().get(bytes, offset, count);
+            offset += count;
+        }
+        return bytes;
+    }
+
+    private static void assertSameGames(List<Game> expected, List<Game> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            StringBuilder expectedJson = new StringBuilder();
+            StringBuilder actualJson = new StringBuilder();
+            GameJsonWriter.appendGame(expectedJson, expected.get(i));
+            GameJsonWriter.appendGame(actualJson, actual.get(i));
+            assertEquals("game " + i, expectedJson.toString(), actualJson.toString());
+        }
+    }
+
+    @Test
+    public void jsonArrayRoundTrip() throws IOException {
+        List<Game> games = sampleGames();
+        byte[] content = toBytes(GameJsonWriter.encodeGames(games));
+
+        assertSameGames(games, GameJsonParser.parseGames(content));
+        assertSameGames(games, GameJsonParser.parseGames(new ByteArrayInputStream(content)));
+    }
+
+    @Test
+    public void ndjsonRoundTrip() throws IOException {
+        List<Game> games = sampleGames();
+        byte[] content = toBytes(GameJsonWriter.encodeLines(games));
+
+        assertSameGames(games, GameJsonParser.parseLines(content));
+        assertSameGames(games, GameJsonParser.parseGames(new ByteArrayInputStream(content)));
+    }
+
+    @Test
+    public void gzipRoundTrip() throws IOException {
+        List<Game> games = sampleGames();
+        byte[] array = toBytes(GameJsonWriter.compress(GameJsonWriter.encodeGames(games)));
+        byte[] lines = toBytes(GameJsonWriter.compress(GameJsonWriter.encodeLines(games)));
+
+        assertTrue(CatalogCompression.isGzip(array));
+        assertTrue(CatalogCompression.isGzip(lines));
+        assertSameGames(games, GameJsonParser.parseGames(
+                CatalogCompression.decompressing(new ByteArrayInputStream(array))));
+        assertSameGames(games, GameJsonParser.parseGames(
+                CatalogCompression.decompressing(new ByteArrayInputStream(lines))));
+    }
+}
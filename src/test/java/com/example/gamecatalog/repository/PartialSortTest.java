@@ -0,0 +1,90 @@
+package com.example.gamecatalog.repository;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class PartialSortTest {
+
+    private static int[] shuffledPositions(int count, Random random) {
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = positions[i];
+            positions[i] = positions[j];
+            positions[j] = swap;
+        }
+        return positions;
+    }
+
+    /**
+     * Sorts positions by key with ties in position order, the order PartialSort promises.
+     */
+    private static int[] fullySorted(int[] positions, int[] keys) {
+        return Arrays.stream(positions).boxed()
+                .sorted((a, b) -> keys[a] != keys[b] ? Integer.compare(keys[a], keys[b]) : Integer.compare(a, b))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Test
+    public void topKMatchesFullSort() {
+        Random random = new Random(42);
+        int count = 10_000;
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            // Few distinct keys, so ties have to be broken by position
+            keys[i] = random.nextInt(100);
+        }
+        int[] positions = shuffledPositions(count, random);
+        int[] expected = fullySorted(positions, keys);
+        IntBinaryOperator order = (a, b) -> Integer.compare(keys[a], keys[b]);
+
+        for (int k : new int[] {1, 20, 300, 1_000}) {
+            PartialSort sort = new PartialSort(positions.clone(), order);
+            assertArrayEquals("top " + k, Arrays.copyOf(expected, k), sort.range(0, k));
+        }
+    }
+
+    @Test
+    public void pagingForwardMatchesFullSort() {
+        Random random = new Random(7);
+        int count = 5_000;
+        int[] keys = random.ints(count, 0, 1_000).toArray();
+        int[] positions = shuffledPositions(count, random);
+        int[] expected = fullySorted(positions, keys);
+        PartialSort sort = new PartialSort(positions, (a, b) -> Integer.compare(keys[a], keys[b]));
+
+        for (int from = 0; from < count; from += 40) {
+            int to = Math.min(count, from + 40);
+            assertArrayEquals("page at " + from, Arrays.copyOfRange(expected, from, to), sort.range(from, to));
+        }
+        assertArrayEquals(expected, sort.range(0, count));
+    }
+
+    @Test
+    public void sortsPresortedAndReversedInput() {
+        int count = 3_000;
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i / 3;
+        }
+        int[] ascending = new int[count];
+        int[] descending = new int[count];
+        for (int i = 0; i < count; i++) {
+            ascending[i] = i;
+            descending[i] = count - 1 - i;
+        }
+        IntBinaryOperator order = (a, b) -> Integer.compare(keys[a], keys[b]);
+
+        assertArrayEquals(fullySorted(ascending, keys), new PartialSort(ascending.clone(), order).range(0, count));
+        assertArrayEquals(fullySorted(descending, keys), new PartialSort(descending.clone(), order).range(0, count));
+    }
+}
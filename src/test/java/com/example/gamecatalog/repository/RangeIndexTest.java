@@ -0,0 +1,94 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RangeIndexTest {
+
+    private static Game gameFrom(Integer releaseYear) {
+        Game game = new Game("Game " + releaseYear, "Developer", "Publisher");
+        game.setReleaseYear(releaseYear);
+        return game;
+    }
+
+    private static RangeIndex yearIndex(Integer... years) {
+        List<Game> games = new ArrayList<>();
+        for (Integer year : years) {
+            games.add(gameFrom(year));
+        }
+        return RangeIndex.build(games, Game::getReleaseYear);
+    }
+
+    @Test
+    public void boundsAreInclusive() {
+        RangeIndex index = yearIndex(2001, 1999, 2005, 2001, 2010);
+
+        assertEquals(3, index.count(2001, 2005));
+        assertEquals(2, index.count(2001, 2001));
+        assertArrayEquals(new int[] {0, 2, 3}, index.positions(2001, 2005));
+        assertArrayEquals(new int[] {1}, index.positions(1999, 1999));
+    }
+
+    @Test
+    public void rangesOutsideTheValuesAreEmpty() {
+        RangeIndex index = yearIndex(2001, 1999, 2005);
+
+        assertEquals(0, index.count(1990, 1998));
+        assertEquals(0, index.count(2006, 2020));
+        assertEquals(0, index.count(2003, 2004));
+        assertEquals(0, index.count(2005, 2001));
+        assertArrayEquals(new int[0], index.positions(2006, 2020));
+        assertEquals(3, index.count(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void gamesWithoutValueAreLeftOut() {
+        RangeIndex index = yearIndex(null, 2000, null, 1995);
+
+        assertEquals(2, index.size());
+        assertEquals(1995, index.min(), 0);
+        assertEquals(2000, index.max(), 0);
+        assertArrayEquals(new int[] {1, 3}, index.positions(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    public void emptyIndexHasNoBounds() {
+        RangeIndex index = yearIndex();
+
+        assertEquals(0, index.size());
+        assertTrue(Double.isNaN(index.min()));
+        assertTrue(Double.isNaN(index.max()));
+        assertEquals(0, index.count(0, 3000));
+        assertTrue(index.buckets(4).isEmpty());
+    }
+
+    @Test
+    public void bucketsCoverEveryGameOnce() {
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            games.add(gameFrom(1980 + i % 40));
+        }
+        RangeIndex index = RangeIndex.build(games, Game::getReleaseYear);
+
+        List<int[]> buckets = index.buckets(8);
+        assertTrue(buckets.size() <= 8);
+        int total = 0;
+        int previousLast = Integer.MIN_VALUE;
+        for (int[] bucket : buckets) {
+            assertTrue(bucket[0] > previousLast);
+            assertTrue(bucket[0] <= bucket[1]);
+            assertEquals(index.count(bucket[0], bucket[1]), bucket[2]);
+            previousLast = bucket[1];
+            total += bucket[2];
+        }
+        assertEquals(games.size(), total);
+    }
+}
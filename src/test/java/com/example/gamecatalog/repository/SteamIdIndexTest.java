@@ -0,0 +1,140 @@
+package com.example.gamecatalog.repository;
+
+import com.example.gamecatalog.model.Game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SteamIdIndexTest {
+
+    private static Game gameWithSteamId(Integer steamId) {
+        Game game = new Game("Game " + steamId, "Developer", "Publisher");
+        game.setSteamId(steamId);
+        return game;
+    }
+
+    @Test
+    public void findsCollidingIds() {
+        // Multiples of a power of two land in few slots without a good hash
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            games.add(gameWithSteamId(i << 12));
+        }
+        SteamIdIndex index = SteamIdIndex.build(games);
+
+        assertEquals(500, index.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, index.find(i << 12));
+        }
+        assertEquals(-1, index.find(1));
+        assertEquals(-1, index.find(500 << 12));
+    }
+
+    @Test
+    public void firstGameWithAnIdWins() {
+        List<Game> games = new ArrayList<>();
+        games.add(gameWithSteamId(null));
+        games.add(gameWithSteamId(620));
+        games.add(gameWithSteamId(620));
+        SteamIdIndex index = SteamIdIndex.build(games);
+
+        assertEquals(1, index.size());
+        assertEquals(1, index.find(620));
+    }
+
+    @Test
+    public void appendingGrowsTheTable() {
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            games.add(gameWithSteamId(1_000 + i));
+        }
+        SteamIdIndex index = SteamIdIndex.build(games);
+
+        // Append in several steps, far beyond the initial capacity
+        for (int step = 0; step < 5; step++) {
+            int from = games.size();
+            for (int i = from; i < from * 3; i++) {
+                games.add(gameWithSteamId(1_000 + i));
+            }
+            SteamIdIndex appended = index.append(games);
+            assertEquals(from, index.size());
+            index = appended;
+        }
+
+        assertEquals(games.size(), index.size());
+        for (int i = 0; i < games.size(); i++) {
+            assertEquals(i, index.find(1_000 + i));
+        }
+        assertArrayEquals(new int[] {0, -1, games.size() - 1},
+                index.findAll(new int[] {1_000, 999, 1_000 + games.size() - 1}));
+    }
+
+    @Test
+    public void removedGamesAreNoLongerFound() {
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            games.add(gameWithSteamId(i * 7));
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(games, 1);
+        Game removed = games.get(40);
+        List<Game> remaining = new ArrayList<>(games);
+        remaining.remove(40);
+        CatalogSnapshot next = snapshot.next(remaining);
+
+        assertSame(removed, snapshot.findBySteamId(40 * 7));
+        assertNull(next.findBySteamId(40 * 7));
+        // Games behind the removed one moved up a position
+        assertSame(games.get(41), next.findBySteamId(41 * 7));
+        assertSame(games.get(99), next.findBySteamId(99 * 7));
+    }
+
+    @Test
+    public void replacingAGamePatchesItsId() {
+        // Colliding ids make the removal shift entries probed past the old one
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            games.add(gameWithSteamId(i % 3 == 0 ? null : i << 12));
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(games, 1);
+        for (int position = 0; position < games.size(); position += 7) {
+            List<Game> updated = new ArrayList<>(games);
+            Game previous = updated.set(position, gameWithSteamId(position % 2 == 0 ? null : 1_000_000 + position));
+            CatalogSnapshot patched = snapshot.next(updated, position, previous);
+            CatalogSnapshot rebuilt = new CatalogSnapshot(updated, 2);
+
+            for (int i = 0; i < 200; i++) {
+                assertSame(rebuilt.findBySteamId(i << 12), patched.findBySteamId(i << 12));
+            }
+            assertSame(rebuilt.findBySteamId(1_000_000 + position), patched.findBySteamId(1_000_000 + position));
+            snapshot = patched;
+            games = updated;
+        }
+    }
+
+    @Test
+    public void replacingAGameWithASharedIdKeepsTheFirstGame() {
+        List<Game> games = new ArrayList<>();
+        games.add(gameWithSteamId(10));
+        games.add(gameWithSteamId(20));
+        games.add(gameWithSteamId(10));
+        CatalogSnapshot snapshot = new CatalogSnapshot(games, 1);
+
+        List<Game> updated = new ArrayList<>(games);
+        Game previous = updated.set(0, gameWithSteamId(30));
+        CatalogSnapshot next = snapshot.next(updated, 0, previous);
+        assertSame(games.get(2), next.findBySteamId(10));
+
+        List<Game> moved = new ArrayList<>(updated);
+        previous = moved.set(1, gameWithSteamId(10));
+        next = next.next(moved, 1, previous);
+        assertSame(moved.get(1), next.findBySteamId(10));
+        assertNull(next.findBySteamId(20));
+    }
+}
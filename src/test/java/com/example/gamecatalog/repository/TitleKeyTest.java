@@ -0,0 +1,46 @@
+package com.example.gamecatalog.repository;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TitleKeyTest {
+
+    private static int compare(String a, String b) {
+        return TitleKey.of(a).compareTo(TitleKey.of(b));
+    }
+
+    @Test
+    public void numbersSortByValue() {
+        assertTrue(compare("Game 2", "Game 10") < 0);
+        assertTrue(compare("Game 9", "Game 10") < 0);
+        assertTrue(compare("Game 10", "Game 100") < 0);
+        assertTrue(compare("Game 007", "Game 10") < 0);
+    }
+
+    @Test
+    public void caseAccentsAndArticleAreIgnored() {
+        assertEquals(TitleKey.of("pokemon"), TitleKey.of("Pokémon"));
+        assertEquals(TitleKey.of("Witcher"), TitleKey.of("The Witcher"));
+        assertEquals(TitleKey.of("HALO"), TitleKey.of("halo"));
+    }
+
+    @Test
+    public void sortsTitlesNaturally() {
+        List<String> titles = Arrays.asList("Game 10", "game 2", "The Game 1", "Game", "Another Game");
+        titles.sort(Comparator.comparing(TitleKey::of));
+
+        assertEquals(Arrays.asList("Another Game", "Game", "The Game 1", "game 2", "Game 10"), titles);
+    }
+
+    @Test
+    public void nullTitleHasNoKey() {
+        assertNull(TitleKey.of(null));
+    }
+}